@@ -0,0 +1,85 @@
+package dev.andante.dodgebolt.benchmark;
+
+import dev.andante.dodgebolt.Dodgebolt;
+import dev.andante.dodgebolt.game.DodgeboltGame;
+import dev.andante.dodgebolt.game.GameTeam;
+import dev.andante.dodgebolt.game.TeamRoster;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The alive players of a team, through {@link DodgeboltGame#getAliveOf} and {@link GameTeam#getPlayers} over the roster of the mod.
+ * Half of the server is on the team and a quarter of those are eliminated.
+ * {@code legacyScan} follows the original scan of every online player, reading teams from the roster as the players have no world.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlivePlayersBenchmark {
+    @Param({ "8", "64", "256" })
+    public int players;
+
+    private DodgeboltGame game;
+    private TeamRoster roster;
+    private List<ServerPlayerEntity> online;
+    private List<ServerPlayerEntity> legacyEliminated;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+        this.game = BenchmarkBootstrap.createGame(GameTeam.RED, GameTeam.BLUE);
+        this.roster = Dodgebolt.DODGEBOLT_MANAGER.getRoster();
+        this.online = new ArrayList<>();
+        this.legacyEliminated = new ArrayList<>();
+
+        for (int i = 0; i < this.players; i++) {
+            ServerPlayerEntity player = BenchmarkBootstrap.createPlayer(UUID.randomUUID());
+            GameTeam team = i % 2 == 0 ? GameTeam.RED : GameTeam.BLUE;
+            BenchmarkBootstrap.assign(player, team);
+            this.online.add(player);
+            if (team == GameTeam.RED && i % 8 == 0) {
+                this.game.onTeamJoin(player, team);
+                this.legacyEliminated.add(player);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ServerPlayerEntity> getAliveOf() {
+        return this.game.getAliveOf(null, GameTeam.RED);
+    }
+
+    @Benchmark
+    public Set<ServerPlayerEntity> getPlayers() {
+        return GameTeam.RED.getPlayers();
+    }
+
+    @Benchmark
+    public List<ServerPlayerEntity> legacyScan() {
+        return this.online.stream()
+                          .filter(player -> this.roster.getTeam(player) == GameTeam.RED)
+                          .toList()
+                          .stream()
+                          .filter(player -> !this.legacyEliminated.contains(player))
+                          .toList();
+    }
+}
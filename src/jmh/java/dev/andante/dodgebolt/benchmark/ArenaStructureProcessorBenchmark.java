@@ -0,0 +1,102 @@
+package dev.andante.dodgebolt.benchmark;
+
+import dev.andante.dodgebolt.game.GameTeam;
+import dev.andante.dodgebolt.processor.ArenaStructureProcessor;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.structure.StructurePlacementData;
+import net.minecraft.structure.StructureTemplate.StructureBlockInfo;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The arena processor over a synthetic template the size of the arena,
+ * mostly air and stone with team concrete and carpet mixed in.
+ * {@code legacyProcess} follows the original processor, which copied every block info whether or not it was remapped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaStructureProcessorBenchmark {
+    private static final int SIZE_X = 29, SIZE_Y = 8, SIZE_Z = 33;
+
+    private StructureBlockInfo[] template;
+    private ArenaStructureProcessor processor;
+    private StructurePlacementData data;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+
+        BlockState[] palette = {
+            Blocks.AIR.getDefaultState(),
+            Blocks.AIR.getDefaultState(),
+            Blocks.AIR.getDefaultState(),
+            Blocks.STONE.getDefaultState(),
+            Blocks.ICE.getDefaultState(),
+            Blocks.RED_CONCRETE.getDefaultState(),
+            Blocks.RED_CARPET.getDefaultState(),
+            Blocks.BLUE_CONCRETE.getDefaultState(),
+            Blocks.BLUE_CARPET.getDefaultState()
+        };
+
+        Random random = new Random(0);
+        this.template = new StructureBlockInfo[SIZE_X * SIZE_Y * SIZE_Z];
+        int i = 0;
+        for (int y = 0; y < SIZE_Y; y++) {
+            for (int z = 0; z < SIZE_Z; z++) {
+                for (int x = 0; x < SIZE_X; x++) {
+                    this.template[i++] = new StructureBlockInfo(new BlockPos(x, y, z), palette[random.nextInt(palette.length)], null);
+                }
+            }
+        }
+
+        this.processor = new ArenaStructureProcessor(GameTeam.LIME, GameTeam.PURPLE);
+        this.data = new StructurePlacementData();
+    }
+
+    @Benchmark
+    public void process(Blackhole blackhole) {
+        for (StructureBlockInfo info : this.template) {
+            blackhole.consume(this.processor.process(null, BlockPos.ORIGIN, BlockPos.ORIGIN, info, info, this.data));
+        }
+    }
+
+    @Benchmark
+    public void legacyProcess(Blackhole blackhole) {
+        for (StructureBlockInfo info : this.template) {
+            BlockState state = info.state;
+            Block block = state.getBlock();
+            BlockState nu = state;
+            Function<GameTeam.BlockData, Block> alphaRemapper = ArenaStructureProcessor.ALPHA_REMAPPERS.get(block);
+            if (alphaRemapper == null) {
+                Function<GameTeam.BlockData, Block> betaRemapper = ArenaStructureProcessor.BETA_REMAPPERS.get(block);
+                if (betaRemapper != null) {
+                    nu = betaRemapper.apply(GameTeam.PURPLE.getBlockData()).getDefaultState();
+                }
+            } else {
+                nu = alphaRemapper.apply(GameTeam.LIME.getBlockData()).getDefaultState();
+            }
+
+            blackhole.consume(new StructureBlockInfo(info.pos, nu, info.nbt));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dev.andante.dodgebolt.benchmark;
+
+import dev.andante.dodgebolt.Dodgebolt;
+import dev.andante.dodgebolt.game.Arena;
+import dev.andante.dodgebolt.game.ArenaRepairer;
+import dev.andante.dodgebolt.game.DodgeboltGame;
+import dev.andante.dodgebolt.game.GameTeam;
+import dev.andante.dodgebolt.game.IceBitmap;
+import dev.andante.dodgebolt.game.TeamRoster;
+import dev.andante.dodgebolt.util.ProcessedArena;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.Vec3i;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.UUID;
+
+/**
+ * Loads the vanilla registries for benchmarks touching blocks or teams, without starting a server,
+ * and sets up real game objects in the state a server would leave them in.
+ */
+public interface BenchmarkBootstrap {
+    static void initialize() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    /**
+     * Allocates a player without a server or world, which is enough for anything that only reads their uuid.
+     */
+    static ServerPlayerEntity createPlayer(UUID uuid) {
+        try {
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            ServerPlayerEntity player = (ServerPlayerEntity) ((Unsafe) field.get(null)).allocateInstance(ServerPlayerEntity.class);
+            player.setUuid(uuid);
+            return player;
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Puts an online player on a team of the roster of the mod, as a scoreboard team join would.
+     */
+    static void assign(ServerPlayerEntity player, GameTeam team) {
+        try {
+            Method method = TeamRoster.class.getDeclaredMethod("assign", ServerPlayerEntity.class, GameTeam.class);
+            method.setAccessible(true);
+            method.invoke(Dodgebolt.DODGEBOLT_MANAGER.getRoster(), player, team);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Creates a game on the first arena as {@link DodgeboltGame#initialize} would, against an arena template that leaves every block untouched.
+     */
+    static DodgeboltGame createGame(GameTeam alpha, GameTeam beta) {
+        try {
+            Arena arena = new Arena(0);
+            Constructor<ProcessedArena> constructor = ProcessedArena.class.getDeclaredConstructor(Vec3i.class, BlockState[].class, Int2ObjectMap.class, int.class);
+            constructor.setAccessible(true);
+            ProcessedArena expected = constructor.newInstance(Vec3i.ZERO, new BlockState[0], new Int2ObjectOpenHashMap<>(), 0);
+
+            DodgeboltGame game = new DodgeboltGame(arena, alpha, beta);
+            setField(game, "repairer", new ArenaRepairer(expected, arena.getStructurePos()));
+            setField(game, "iceBitmap", new IceBitmap(arena, expected));
+            return game;
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static void setField(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,116 @@
+package dev.andante.dodgebolt.benchmark;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+import dev.andante.dodgebolt.command.DodgeboltCommand;
+import dev.andante.dodgebolt.command.RandomiseTeamsCommand;
+import dev.andante.dodgebolt.command.SpawnArenaCommand;
+import dev.andante.dodgebolt.game.GameTeam;
+import io.netty.buffer.Unpooled;
+import net.minecraft.command.CommandSource;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.packet.s2c.play.CommandTreeS2CPacket;
+import net.minecraft.server.command.ServerCommandSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.minecraft.server.command.CommandManager.literal;
+
+/**
+ * Building and encoding the command tree of the team pair commands, as a literal node for every pair of teams
+ * or as two team arguments. The node count and packet size of each tree are reported as counters of {@code encode}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandTreeBenchmark {
+    @Param({ "literals", "arguments" })
+    public String tree;
+
+    private RootCommandNode<ServerCommandSource> root;
+    private int nodes;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+        this.root = this.build().getRoot();
+        this.nodes = countNodes(this.root);
+    }
+
+    @Benchmark
+    public CommandDispatcher<ServerCommandSource> build() {
+        CommandDispatcher<ServerCommandSource> dispatcher = new CommandDispatcher<>();
+        if (this.tree.equals("literals")) {
+            registerLiterals(dispatcher, "dodgebolt");
+            registerLiterals(dispatcher, "randomiseteams");
+            registerLiterals(dispatcher, "spawnarena");
+        } else {
+            DodgeboltCommand.register(dispatcher);
+            RandomiseTeamsCommand.register(dispatcher);
+            SpawnArenaCommand.register(dispatcher);
+        }
+
+        return dispatcher;
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public PacketByteBuf encode(TreeSize size) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        new CommandTreeS2CPacket((RootCommandNode<CommandSource>) (RootCommandNode<?>) this.root).write(buf);
+        size.nodes = this.nodes;
+        size.bytes = buf.readableBytes();
+        return buf;
+    }
+
+    /**
+     * The tree as it was registered before team arguments.
+     */
+    private static void registerLiterals(CommandDispatcher<ServerCommandSource> dispatcher, String name) {
+        LiteralArgumentBuilder<ServerCommandSource> builder = literal(name).requires(source -> source.hasPermissionLevel(2)).executes(context -> 1);
+        GameTeam[] values = GameTeam.teamValues();
+        for (GameTeam alpha : values) {
+            for (GameTeam beta : values) {
+                builder.then(literal(alpha.name()).then(literal(beta.name()).executes(context -> 1)));
+            }
+        }
+
+        dispatcher.register(builder);
+    }
+
+    /**
+     * Set rather than counted, so each iteration reports the size of one tree.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TreeSize {
+        public long nodes;
+        public long bytes;
+    }
+
+    private static int countNodes(CommandNode<?> node) {
+        int count = 1;
+        for (CommandNode<?> child : node.getChildren()) {
+            count += countNodes(child);
+        }
+
+        return count;
+    }
+}
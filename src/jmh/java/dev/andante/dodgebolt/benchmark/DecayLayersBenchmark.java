@@ -0,0 +1,90 @@
+package dev.andante.dodgebolt.benchmark;
+
+import dev.andante.dodgebolt.game.DecayLayers;
+import dev.andante.dodgebolt.util.PackedXZ;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static dev.andante.dodgebolt.util.Constants.ARENA_MAX;
+import static dev.andante.dodgebolt.util.Constants.ARENA_MIN;
+
+/**
+ * The decay perimeter of an arena, against the per-flash perimeter walk it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecayLayersBenchmark {
+    private static final int LAYERS = 8;
+
+    private DecayLayers layers;
+
+    @Setup
+    public void setup() {
+        this.layers = DecayLayers.rectangle(ARENA_MIN.getX(), ARENA_MIN.getZ(), ARENA_MAX.getX(), ARENA_MAX.getZ());
+    }
+
+    @Benchmark
+    public DecayLayers computeLayers() {
+        return DecayLayers.rectangle(ARENA_MIN.getX(), ARENA_MIN.getZ(), ARENA_MAX.getX(), ARENA_MAX.getZ());
+    }
+
+    @Benchmark
+    public void iterateLayers(Blackhole blackhole) {
+        for (int layer = 0; layer < LAYERS; layer++) {
+            for (long packed : this.layers.getLayer(layer)) {
+                blackhole.consume(PackedXZ.getX(packed));
+                blackhole.consume(PackedXZ.getZ(packed));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<BlockPos> legacyPerimeter() {
+        List<BlockPos> list = new ArrayList<>();
+        for (int i = 0; i < LAYERS; i++) {
+            for (BlockPos pos : legacyRing(ARENA_MIN.getX() + i, ARENA_MIN.getZ() + i, ARENA_MAX.getX() - i, ARENA_MAX.getZ() - i)) {
+                legacyAdd(list, pos.getX(), pos.getZ());
+            }
+        }
+
+        return list;
+    }
+
+    private static List<BlockPos> legacyRing(int minX, int minZ, int maxX, int maxZ) {
+        List<BlockPos> list = new ArrayList<>();
+        for (int i = minX; i <= maxX; i++) {
+            legacyAdd(list, i, minZ);
+            legacyAdd(list, i, maxZ);
+        }
+        for (int i = minZ; i <= maxZ; i++) {
+            legacyAdd(list, minX, i);
+            legacyAdd(list, maxX, i);
+        }
+
+        return list;
+    }
+
+    private static void legacyAdd(List<BlockPos> list, int x, int z) {
+        if (list.stream().noneMatch(pos -> pos.getX() == x && pos.getZ() == z)) {
+            list.add(new BlockPos(x, 10, z));
+        }
+    }
+}
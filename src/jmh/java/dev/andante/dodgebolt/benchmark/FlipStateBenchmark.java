@@ -0,0 +1,86 @@
+package dev.andante.dodgebolt.benchmark;
+
+import dev.andante.dodgebolt.game.DecayLayers;
+import dev.andante.dodgebolt.game.DodgeboltGame;
+import dev.andante.dodgebolt.game.GameTeam;
+import dev.andante.dodgebolt.util.BlockBatch;
+import dev.andante.dodgebolt.util.PackedXZ;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EmptyBlockView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static dev.andante.dodgebolt.util.Constants.ARENA_MAX;
+import static dev.andante.dodgebolt.util.Constants.ARENA_MIN;
+
+/**
+ * One full flash of the decaying layers, lifting every carpet and putting it back, through {@link DodgeboltGame.EdgeManager#flash}.
+ * Changes are queued in a batch that is never applied, and lifted carpet is read from an empty world, as there is no server.
+ * {@code legacyFlipMap} follows the map scan it replaced, with carpets stubbed by a plain object.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlipStateBenchmark {
+    private static final Object CARPET = new Object();
+
+    @Param({ "1", "2", "4" })
+    public int decaying;
+
+    private DecayLayers layers;
+    private DodgeboltGame.EdgeManager edgeManager;
+    private Map<BlockPos, Object> flipMap;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+        this.layers = DecayLayers.rectangle(ARENA_MIN.getX(), ARENA_MIN.getZ(), ARENA_MAX.getX(), ARENA_MAX.getZ());
+        this.edgeManager = BenchmarkBootstrap.createGame(GameTeam.RED, GameTeam.BLUE).new EdgeManager();
+        this.flipMap = new HashMap<>();
+    }
+
+    @Benchmark
+    public BlockBatch flash() {
+        BlockBatch batch = new BlockBatch(null);
+        for (int flash = 0; flash < 2; flash++) {
+            this.edgeManager.flash(EmptyBlockView.INSTANCE, batch, 0, this.decaying);
+        }
+
+        return batch;
+    }
+
+    @Benchmark
+    public void legacyFlipMap(Blackhole blackhole) {
+        for (int flash = 0; flash < 2; flash++) {
+            for (int layer = 0; layer < this.decaying; layer++) {
+                for (long packed : this.layers.getLayer(layer)) {
+                    BlockPos pos = new BlockPos(PackedXZ.getX(packed), 10, PackedXZ.getZ(packed));
+                    Object state = this.flipMap.entrySet().stream().filter(entry -> entry.getKey().getX() == pos.getX() && entry.getKey().getZ() == pos.getZ()).map(Map.Entry::getValue).findAny().orElse(null);
+                    if (state == null) {
+                        this.flipMap.put(pos, CARPET);
+                    } else {
+                        blackhole.consume(state);
+                        this.flipMap.entrySet().removeIf(entry -> entry.getKey().getX() == pos.getX() && entry.getKey().getZ() == pos.getZ());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package dev.andante.dodgebolt.benchmark;
+
+import dev.andante.dodgebolt.game.GameTeam;
+import net.minecraft.scoreboard.Scoreboard;
+import net.minecraft.scoreboard.Team;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a scoreboard team to its game team. Mixins are not applied here,
+ * so {@link GameTeam#ofAny} measures its by-name fallback rather than the cached lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameTeamBenchmark {
+    @Param({ "RED", "PINK", "SPECTATOR", "builders" })
+    public String name;
+
+    private Team team;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+        this.team = new Scoreboard().addTeam(this.name);
+    }
+
+    @Benchmark
+    public GameTeam ofAny() {
+        return GameTeam.ofAny(this.team);
+    }
+
+    @Benchmark
+    public GameTeam of() {
+        return GameTeam.of(this.team);
+    }
+
+    @Benchmark
+    public GameTeam legacyValueOf() {
+        try {
+            return GameTeam.valueOf(this.team.getName());
+        } catch (IllegalArgumentException ignored) {
+            return null;
+        }
+    }
+}
@@ -3,15 +3,18 @@ package dev.andante.dodgebolt;
 import com.google.common.reflect.Reflection;
 import com.mojang.logging.LogUtils;
 import dev.andante.dodgebolt.command.DodgeboltCommand;
+import dev.andante.dodgebolt.command.QueueCommand;
 import dev.andante.dodgebolt.command.RandomiseTeamsCommand;
 import dev.andante.dodgebolt.command.SpawnArenaCommand;
+import dev.andante.dodgebolt.command.StatsCommand;
+import dev.andante.dodgebolt.eventlog.GameEvent;
 import dev.andante.dodgebolt.game.DodgeboltGameManager;
 import dev.andante.dodgebolt.game.GameTeam;
 import dev.andante.dodgebolt.processor.DodgeboltStructureProcessors;
+import dev.andante.dodgebolt.util.ChatPipeline;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.fabricmc.fabric.api.message.v1.ServerMessageEvents;
-import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.minecraft.network.message.MessageType;
 import net.minecraft.network.message.SignedMessage;
 import net.minecraft.server.MinecraftServer;
@@ -27,6 +30,7 @@ public class Dodgebolt implements ModInitializer {
     public static final Logger LOGGER = LogUtils.getLogger();
 
     public static final DodgeboltGameManager DODGEBOLT_MANAGER = new DodgeboltGameManager();
+    public static final ChatPipeline CHAT_PIPELINE = new ChatPipeline();
 
     @SuppressWarnings("UnstableApiUsage")
     @Override
@@ -39,6 +43,8 @@ public class Dodgebolt implements ModInitializer {
             DodgeboltCommand.register(dispatcher);
             SpawnArenaCommand.register(dispatcher);
             RandomiseTeamsCommand.register(dispatcher);
+            StatsCommand.register(dispatcher);
+            QueueCommand.register(dispatcher);
         });
 
         ServerMessageEvents.ALLOW_CHAT_MESSAGE.register(this::allowChatMessage);
@@ -49,10 +55,8 @@ public class Dodgebolt implements ModInitializer {
         if (server != null) {
             Text name = getDisplayName(player);
             Text text = Text.translatable("%s: %s", name, message.getContent());
-            LOGGER.info("[CHAT] {}", text.getString());
-
-            for (ServerPlayerEntity xplayer : PlayerLookup.all(server)) {
-                xplayer.sendMessage(text);
+            if (CHAT_PIPELINE.submit(player, text, server.getTicks())) {
+                DODGEBOLT_MANAGER.getEventLog().publish(new GameEvent.Chat(player.getUuid(), player.getEntityName(), text));
             }
 
             return false;
@@ -0,0 +1,11 @@
+package dev.andante.dodgebolt;
+
+import dev.andante.dodgebolt.game.DodgeboltGame;
+import org.jetbrains.annotations.Nullable;
+
+public interface GameEntityAccess {
+    void setGame(@Nullable DodgeboltGame game);
+
+    @Nullable
+    DodgeboltGame getGame();
+}
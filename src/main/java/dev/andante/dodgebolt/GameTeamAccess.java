@@ -0,0 +1,9 @@
+package dev.andante.dodgebolt;
+
+import dev.andante.dodgebolt.game.GameTeam;
+import org.jetbrains.annotations.Nullable;
+
+public interface GameTeamAccess {
+    @Nullable
+    GameTeam getGameTeam();
+}
@@ -0,0 +1,67 @@
+package dev.andante.dodgebolt.command;
+
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import dev.andante.dodgebolt.game.GameTeam;
+import net.minecraft.command.CommandSource;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static net.minecraft.server.command.CommandManager.argument;
+
+/**
+ * A playable {@link GameTeam} argument. Sent to clients as a vanilla word argument
+ * with server suggestions, so the command tree holds one node per argument rather than one per team.
+ */
+public interface GameTeamArgument {
+    DynamicCommandExceptionType UNKNOWN_TEAM = new DynamicCommandExceptionType(name -> Text.literal("Unknown team '%s'".formatted(name)));
+    SimpleCommandExceptionType SAME_TEAM = new SimpleCommandExceptionType(Text.literal("A team cannot play against itself"));
+
+    static RequiredArgumentBuilder<ServerCommandSource, String> team(String name) {
+        return argument(name, StringArgumentType.word()).suggests((context, builder) -> CommandSource.suggestMatching(Arrays.stream(GameTeam.teamValues()).map(GameTeam::name), builder));
+    }
+
+    /**
+     * A team argument that suggests every team but the one given to the other argument.
+     */
+    static RequiredArgumentBuilder<ServerCommandSource, String> opponent(String name, String other) {
+        return argument(name, StringArgumentType.word()).suggests((context, builder) -> {
+            GameTeam otherTeam = parse(StringArgumentType.getString(context, other));
+            return CommandSource.suggestMatching(Arrays.stream(GameTeam.teamValues()).filter(team -> team != otherTeam).map(GameTeam::name), builder);
+        });
+    }
+
+    static GameTeam getTeam(CommandContext<ServerCommandSource> context, String name) throws CommandSyntaxException {
+        String string = StringArgumentType.getString(context, name);
+        GameTeam team = parse(string);
+        if (team == null) {
+            throw UNKNOWN_TEAM.create(string);
+        }
+
+        return team;
+    }
+
+    /**
+     * @throws CommandSyntaxException if the team is unknown or the same as the other argument's
+     */
+    static GameTeam getOpponent(CommandContext<ServerCommandSource> context, String name, String other) throws CommandSyntaxException {
+        GameTeam team = getTeam(context, name);
+        if (team == getTeam(context, other)) {
+            throw SAME_TEAM.create();
+        }
+
+        return team;
+    }
+
+    private static GameTeam parse(String string) {
+        GameTeam team = GameTeam.byName(string.toUpperCase(Locale.ROOT));
+        return team == null || team.getBlockData() == null ? null : team;
+    }
+}
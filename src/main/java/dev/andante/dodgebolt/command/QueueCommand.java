@@ -0,0 +1,40 @@
+package dev.andante.dodgebolt.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import dev.andante.dodgebolt.Dodgebolt;
+import dev.andante.dodgebolt.game.Matchmaker;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+
+import static net.minecraft.server.command.CommandManager.literal;
+
+public interface QueueCommand {
+    static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(literal("queue").executes(QueueCommand::execute).then(literal("leave").executes(QueueCommand::executeLeave)));
+    }
+
+    private static int execute(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        ServerPlayerEntity player = source.getPlayerOrThrow();
+        Matchmaker matchmaker = Dodgebolt.DODGEBOLT_MANAGER.getMatchmaker();
+        if (!matchmaker.join(player, source.getServer().getTicks())) {
+            throw new SimpleCommandExceptionType(Text.literal("Could not join the queue")).create();
+        }
+
+        source.sendFeedback(Text.literal("Joined the queue with %s players waiting".formatted(matchmaker.size())), false);
+        return matchmaker.size();
+    }
+
+    private static int executeLeave(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        if (!Dodgebolt.DODGEBOLT_MANAGER.getMatchmaker().leave(context.getSource().getPlayerOrThrow())) {
+            throw new SimpleCommandExceptionType(Text.literal("You are not in the queue")).create();
+        }
+
+        context.getSource().sendFeedback(Text.literal("Left the queue"), false);
+        return 1;
+    }
+}
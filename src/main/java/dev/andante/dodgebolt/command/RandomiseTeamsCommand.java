@@ -21,7 +21,7 @@ import static net.minecraft.server.command.CommandManager.literal;
 public interface RandomiseTeamsCommand {
     static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
         LiteralArgumentBuilder<ServerCommandSource> builder = literal("randomiseteams").requires(source -> source.hasPermissionLevel(2)).executes(RandomiseTeamsCommand::execute);
-        GameTeam.forEachTeamPair((alpha, beta) -> builder.then(literal(alpha.name()).then(literal(beta.name()).executes(context -> execute(context, alpha, beta)))));
+        builder.then(GameTeamArgument.team("alpha").then(GameTeamArgument.opponent("beta", "alpha").executes(context -> execute(context, GameTeamArgument.getTeam(context, "alpha"), GameTeamArgument.getOpponent(context, "beta", "alpha")))));
         dispatcher.register(builder);
     }
 
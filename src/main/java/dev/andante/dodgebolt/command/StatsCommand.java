@@ -0,0 +1,36 @@
+package dev.andante.dodgebolt.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import dev.andante.dodgebolt.Dodgebolt;
+import dev.andante.dodgebolt.stats.PlayerStats;
+import dev.andante.dodgebolt.stats.StatType;
+import net.minecraft.command.argument.EntityArgumentType;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+public interface StatsCommand {
+    static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(
+                literal("stats").executes(context -> execute(context, context.getSource().getPlayerOrThrow()))
+                                .then(argument("player", EntityArgumentType.player()).executes(context -> execute(context, EntityArgumentType.getPlayer(context, "player"))))
+        );
+    }
+
+    private static int execute(CommandContext<ServerCommandSource> context, ServerPlayerEntity player) throws CommandSyntaxException {
+        PlayerStats stats = Dodgebolt.DODGEBOLT_MANAGER.getStats().get(player.getUuid());
+        Text text = Text.empty()
+                        .append(Dodgebolt.getDisplayName(player))
+                        .append(Text.literal(": %s kills, %s deaths, %s round wins, %s match wins".formatted(
+                                stats.get(StatType.KILLS), stats.get(StatType.DEATHS), stats.get(StatType.ROUND_WINS), stats.get(StatType.MATCH_WINS)
+                        )).formatted(Formatting.GRAY));
+        context.getSource().sendFeedback(text, false);
+        return stats.get(StatType.KILLS);
+    }
+}
@@ -0,0 +1,167 @@
+package dev.andante.dodgebolt.eventlog;
+
+import com.google.gson.JsonObject;
+import dev.andante.dodgebolt.game.GameTeam;
+import dev.andante.dodgebolt.rules.RoundStage;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Something that happened in a game, published on the server thread and rendered by the {@link GameEventLog} sink.
+ * Events only capture references and primitives; anything needing formatting, such as {@link Text}, is rendered in {@link #write}.
+ */
+public interface GameEvent {
+    String getType();
+
+    /**
+     * Adds the fields of this event. Called on the sink thread.
+     */
+    void write(JsonObject json);
+
+    /**
+     * @return a line for the server log, called on the sink thread
+     */
+    String describe();
+
+    record GameStart(int arena, GameTeam alpha, GameTeam beta) implements GameEvent {
+        @Override
+        public String getType() {
+            return "game_start";
+        }
+
+        @Override
+        public void write(JsonObject json) {
+            json.addProperty("arena", this.arena);
+            json.addProperty("alpha", this.alpha.name());
+            json.addProperty("beta", this.beta.name());
+        }
+
+        @Override
+        public String describe() {
+            return "Initializing Dodgebolt Game in arena %d: %s vs %s".formatted(this.arena, this.alpha, this.beta);
+        }
+    }
+
+    record GameEnd(int arena, int round) implements GameEvent {
+        @Override
+        public String getType() {
+            return "game_end";
+        }
+
+        @Override
+        public void write(JsonObject json) {
+            json.addProperty("arena", this.arena);
+            json.addProperty("round", this.round);
+        }
+
+        @Override
+        public String describe() {
+            return "Terminating game in arena %d at round %d".formatted(this.arena, this.round);
+        }
+    }
+
+    /**
+     * @param blocks the blocks placed or repaired for the round
+     */
+    record RoundStart(int arena, int round, int eliminated, int blocks) implements GameEvent {
+        @Override
+        public String getType() {
+            return "round_start";
+        }
+
+        @Override
+        public void write(JsonObject json) {
+            json.addProperty("arena", this.arena);
+            json.addProperty("round", this.round);
+            json.addProperty("eliminated", this.eliminated);
+            json.addProperty("blocks", this.blocks);
+        }
+
+        @Override
+        public String describe() {
+            return "Started round %d in arena %d with %d eliminated by default and %d blocks restored".formatted(this.round, this.arena, this.eliminated, this.blocks);
+        }
+    }
+
+    record RoundEnd(int arena, int round, GameTeam winner, int scoreAlpha, int scoreBeta) implements GameEvent {
+        @Override
+        public String getType() {
+            return "round_end";
+        }
+
+        @Override
+        public void write(JsonObject json) {
+            json.addProperty("arena", this.arena);
+            json.addProperty("round", this.round);
+            json.addProperty("winner", this.winner.name());
+            json.addProperty("score_alpha", this.scoreAlpha);
+            json.addProperty("score_beta", this.scoreBeta);
+        }
+
+        @Override
+        public String describe() {
+            return "Ending round %d in arena %d with winner %s: %d-%d".formatted(this.round, this.arena, this.winner, this.scoreAlpha, this.scoreBeta);
+        }
+    }
+
+    record StateChange(int arena, @Nullable RoundStage from, RoundStage to) implements GameEvent {
+        @Override
+        public String getType() {
+            return "state_change";
+        }
+
+        @Override
+        public void write(JsonObject json) {
+            json.addProperty("arena", this.arena);
+            json.addProperty("from", this.from == null ? null : this.from.name());
+            json.addProperty("to", this.to.name());
+        }
+
+        @Override
+        public String describe() {
+            return "STATE CHANGE [%d]: %s -> %s".formatted(this.arena, this.from, this.to);
+        }
+    }
+
+    record Elimination(int arena, UUID player, String playerName, @Nullable String attackerName, Text message) implements GameEvent {
+        @Override
+        public String getType() {
+            return "elimination";
+        }
+
+        @Override
+        public void write(JsonObject json) {
+            json.addProperty("arena", this.arena);
+            json.addProperty("player", this.player.toString());
+            json.addProperty("player_name", this.playerName);
+            json.addProperty("attacker_name", this.attackerName);
+            json.addProperty("message", this.message.getString());
+        }
+
+        @Override
+        public String describe() {
+            return this.message.getString();
+        }
+    }
+
+    record Chat(UUID player, String playerName, Text message) implements GameEvent {
+        @Override
+        public String getType() {
+            return "chat";
+        }
+
+        @Override
+        public void write(JsonObject json) {
+            json.addProperty("player", this.player.toString());
+            json.addProperty("player_name", this.playerName);
+            json.addProperty("message", this.message.getString());
+        }
+
+        @Override
+        public String describe() {
+            return "[CHAT] " + this.message.getString();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package dev.andante.dodgebolt.eventlog;
+
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Game events as JSON lines. The server thread only stores each event into a preallocated ring,
+ * and a sink thread renders and writes them, also echoing them to the server log.
+ */
+public class GameEventLog {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    public static final int CAPACITY = 1 << 12;
+    public static final long DRAIN_INTERVAL_NANOS = 50_000_000L;
+    public static final long CLOSE_TIMEOUT_MILLIS = 5000L;
+
+    private final Path path;
+    private final GameEvent[] events;
+    private final long[] times;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread sink;
+
+    private long cachedTail;
+    private volatile boolean closed;
+
+    private GameEventLog(Path path) {
+        this.path = path;
+        this.events = new GameEvent[CAPACITY];
+        this.times = new long[CAPACITY];
+        this.mask = CAPACITY - 1;
+        this.sink = new Thread(this::drain, "Dodgebolt Event Log");
+        this.sink.setDaemon(true);
+    }
+
+    public static GameEventLog start(Path path) {
+        GameEventLog log = new GameEventLog(path);
+        log.sink.start();
+        return log;
+    }
+
+    /**
+     * Called on the server thread only. Drops the event if the sink has fallen a full ring behind.
+     */
+    public void publish(GameEvent event) {
+        long head = this.head.getPlain();
+        if (head - this.cachedTail >= CAPACITY) {
+            this.cachedTail = this.tail.getAcquire();
+            if (head - this.cachedTail >= CAPACITY) {
+                this.dropped.setRelease(this.dropped.getPlain() + 1);
+                return;
+            }
+        }
+
+        int i = (int) (head & this.mask);
+        this.events[i] = event;
+        this.times[i] = System.currentTimeMillis();
+        this.head.setRelease(head + 1);
+    }
+
+    /**
+     * Stops the sink once it has written everything published so far, waiting a short while for it to finish.
+     */
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.sink);
+        try {
+            this.sink.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.sink.isAlive()) {
+            LOGGER.warn("Timed out writing game events to {}", this.path);
+        }
+    }
+
+    private void drain() {
+        try {
+            Files.createDirectories(this.path.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(this.path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                while (true) {
+                    boolean closed = this.closed;
+                    long tail = this.tail.getPlain();
+                    long head = this.head.getAcquire();
+                    for (long position = tail; position < head; position++) {
+                        int i = (int) (position & this.mask);
+                        GameEvent event = this.events[i];
+                        long time = this.times[i];
+                        this.events[i] = null;
+                        this.write(writer, event, time);
+                    }
+                    this.tail.setRelease(head);
+
+                    if (head == tail) {
+                        if (closed) {
+                            break;
+                        }
+
+                        writer.flush();
+                        LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+                    }
+                }
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Failed to write game events to {}", this.path, exception);
+        }
+
+        long dropped = this.dropped.getAcquire();
+        if (dropped > 0) {
+            LOGGER.warn("Dropped {} game events", dropped);
+        }
+    }
+
+    private void write(BufferedWriter writer, GameEvent event, long time) throws IOException {
+        try {
+            JsonObject json = new JsonObject();
+            json.addProperty("time", time);
+            json.addProperty("type", event.getType());
+            event.write(json);
+            writer.write(json.toString());
+            writer.newLine();
+            LOGGER.info(event.describe());
+        } catch (RuntimeException exception) {
+            LOGGER.error("Failed to render game event {}", event.getType(), exception);
+        }
+    }
+}
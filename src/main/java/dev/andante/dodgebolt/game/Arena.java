@@ -0,0 +1,129 @@
+package dev.andante.dodgebolt.game;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.List;
+
+import static dev.andante.dodgebolt.util.Constants.ALPHA_ARROW_SPAWN_POS;
+import static dev.andante.dodgebolt.util.Constants.ALPHA_POSITIONS;
+import static dev.andante.dodgebolt.util.Constants.ARENA_MAX;
+import static dev.andante.dodgebolt.util.Constants.ARENA_MID_Z;
+import static dev.andante.dodgebolt.util.Constants.ARENA_MIN;
+import static dev.andante.dodgebolt.util.Constants.ARENA_PADDING;
+import static dev.andante.dodgebolt.util.Constants.ARENA_POS;
+import static dev.andante.dodgebolt.util.Constants.ARENA_SPACING;
+import static dev.andante.dodgebolt.util.Constants.ARENA_SPAWN_POS;
+import static dev.andante.dodgebolt.util.Constants.BETA_ARROW_SPAWN_POS;
+import static dev.andante.dodgebolt.util.Constants.BETA_POSITIONS;
+import static dev.andante.dodgebolt.util.Constants.MAX_ARENAS;
+
+/**
+ * A single arena slot, holding the geometry of {@link dev.andante.dodgebolt.util.Constants} offset to its own position.
+ */
+public class Arena {
+    private static final int REGION_MIN_X = ARENA_POS.getX() - ARENA_PADDING;
+    private static final int REGION_MIN_Z = ARENA_MIN.getZ() - ARENA_PADDING;
+    private static final int REGION_MAX_Z = ARENA_MAX.getZ() + ARENA_PADDING;
+
+    private final int index;
+    private final int regionMinX;
+    private final BlockPos structurePos;
+    private final BlockPos spawnPos;
+    private final BlockPos min, max;
+    private final Vec3d alphaArrowSpawnPos, betaArrowSpawnPos;
+    private final int midZ;
+    private final List<BlockPos> alphaPositions, betaPositions;
+    private final DecayLayers decayLayers;
+
+    public Arena(int index) {
+        this.index = index;
+
+        int offset = index * ARENA_SPACING;
+        this.regionMinX = REGION_MIN_X + offset;
+        this.structurePos = ARENA_POS.add(offset, 0, 0);
+        this.spawnPos = ARENA_SPAWN_POS.add(offset, 0, 0);
+        this.min = ARENA_MIN.add(offset, 0, 0);
+        this.max = ARENA_MAX.add(offset, 0, 0);
+        this.alphaArrowSpawnPos = ALPHA_ARROW_SPAWN_POS.add(offset, 0, 0);
+        this.betaArrowSpawnPos = BETA_ARROW_SPAWN_POS.add(offset, 0, 0);
+        this.midZ = ARENA_MID_Z;
+        this.alphaPositions = ALPHA_POSITIONS.stream().map(pos -> pos.add(offset, 0, 0)).toList();
+        this.betaPositions = BETA_POSITIONS.stream().map(pos -> pos.add(offset, 0, 0)).toList();
+        this.decayLayers = DecayLayers.rectangle(this.min.getX(), this.min.getZ(), this.max.getX(), this.max.getZ());
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public BlockPos getStructurePos() {
+        return this.structurePos;
+    }
+
+    public BlockPos getSpawnPos() {
+        return this.spawnPos;
+    }
+
+    public BlockPos getMin() {
+        return this.min;
+    }
+
+    public BlockPos getMax() {
+        return this.max;
+    }
+
+    public int getFloorY() {
+        return this.min.getY();
+    }
+
+    public Vec3d getAlphaArrowSpawnPos() {
+        return this.alphaArrowSpawnPos;
+    }
+
+    public Vec3d getBetaArrowSpawnPos() {
+        return this.betaArrowSpawnPos;
+    }
+
+    public int getMidZ() {
+        return this.midZ;
+    }
+
+    public List<BlockPos> getAlphaPositions() {
+        return this.alphaPositions;
+    }
+
+    public List<BlockPos> getBetaPositions() {
+        return this.betaPositions;
+    }
+
+    public DecayLayers getDecayLayers() {
+        return this.decayLayers;
+    }
+
+    public boolean contains(double x, double z) {
+        return getIndexAt(x, z) == this.index;
+    }
+
+    /**
+     * @return the box around the region checked by {@link #contains}, between the given heights
+     */
+    public Box getRegion(double minY, double maxY) {
+        return new Box(this.regionMinX, minY, REGION_MIN_Z, this.regionMinX + ARENA_SPACING, maxY, REGION_MAX_Z + 1);
+    }
+
+    /**
+     * @return the index of the arena slot whose region contains the given position, or {@code -1} if none does
+     */
+    public static int getIndexAt(double x, double z) {
+        int bz = MathHelper.floor(z);
+        if (bz < REGION_MIN_Z || bz > REGION_MAX_Z) {
+            return -1;
+        }
+
+        int index = Math.floorDiv(MathHelper.floor(x) - REGION_MIN_X, ARENA_SPACING);
+        return index >= 0 && index < MAX_ARENAS ? index : -1;
+    }
+}
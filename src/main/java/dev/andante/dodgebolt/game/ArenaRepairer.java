@@ -0,0 +1,116 @@
+package dev.andante.dodgebolt.game;
+
+import dev.andante.dodgebolt.util.BlockBatch;
+import dev.andante.dodgebolt.util.ProcessedArena;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Restores an arena to its processed template by rewriting only the positions that diverged from it.
+ * Positions changed by the game are tracked directly, and anything else is found by a scan that runs within a time budget.
+ */
+public class ArenaRepairer {
+    /**
+     * The number of positions checked between each look at the clock while scanning.
+     */
+    private static final int SCAN_STRIDE = 256;
+
+    private final ProcessedArena expected;
+    private final BlockPos origin;
+    private final LongSet dirty;
+
+    private int cursor;
+
+    public ArenaRepairer(ProcessedArena expected, BlockPos origin) {
+        this.expected = expected;
+        this.origin = origin;
+        this.dirty = new LongOpenHashSet();
+        this.cursor = expected.getVolume();
+    }
+
+    public ProcessedArena getExpected() {
+        return this.expected;
+    }
+
+    public void markDirty(int x, int y, int z) {
+        this.dirty.add(BlockPos.asLong(x, y, z));
+    }
+
+    /**
+     * Queues the expected state of every tracked position.
+     *
+     * @return the number of positions queued
+     */
+    public int repairDirty(BlockBatch batch) {
+        int repaired = 0;
+        for (LongIterator iterator = this.dirty.iterator(); iterator.hasNext(); ) {
+            long pos = iterator.nextLong();
+            int x = BlockPos.unpackLongX(pos);
+            int y = BlockPos.unpackLongY(pos);
+            int z = BlockPos.unpackLongZ(pos);
+            BlockState state = this.expected.getExpected(x - this.origin.getX(), y - this.origin.getY(), z - this.origin.getZ());
+            if (state != null) {
+                batch.set(x, y, z, state);
+                repaired++;
+            }
+        }
+
+        this.dirty.clear();
+        return repaired;
+    }
+
+    /**
+     * Forgets every tracked position, for when the arena was restored by other means.
+     */
+    public void clearDirty() {
+        this.dirty.clear();
+    }
+
+    /**
+     * Restarts the integrity scan from the beginning of the template.
+     */
+    public void restartScan() {
+        this.cursor = 0;
+    }
+
+    public boolean isScanning() {
+        return this.cursor < this.expected.getVolume();
+    }
+
+    /**
+     * Continues the integrity scan, queueing every diverged position, until the scan completes or the budget is spent.
+     *
+     * @return the number of positions queued
+     */
+    public int scan(ServerWorld world, BlockBatch batch, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        int volume = this.expected.getVolume();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        int repaired = 0;
+        while (this.cursor < volume) {
+            int end = Math.min(this.cursor + SCAN_STRIDE, volume);
+            for (int i = this.cursor; i < end; i++) {
+                BlockState state = this.expected.getExpected(i);
+                if (state != null) {
+                    pos.set(this.origin.getX() + this.expected.getX(i), this.origin.getY() + this.expected.getY(i), this.origin.getZ() + this.expected.getZ(i));
+                    if (world.getBlockState(pos) != state) {
+                        batch.set(pos, state);
+                        repaired++;
+                    }
+                }
+            }
+
+            this.cursor = end;
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+
+        return repaired;
+    }
+}
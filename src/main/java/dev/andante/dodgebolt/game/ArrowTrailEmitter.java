@@ -0,0 +1,108 @@
+package dev.andante.dodgebolt.game;
+
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.projectile.ArrowEntity;
+import net.minecraft.network.packet.s2c.play.ParticleS2CPacket;
+import net.minecraft.particle.DustParticleEffect;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.particle.ParticleTypes;
+import net.minecraft.scoreboard.AbstractTeam;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Formatting;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3f;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Emits arrow trail particles to the players tracking each arrow, thinning them out with distance
+ * and capping the total sent per tick.
+ */
+public class ArrowTrailEmitter {
+    /**
+     * The most particles sent across every arrow and viewer in a single tick.
+     */
+    public static final int MAX_PARTICLES_PER_TICK = 512;
+
+    /**
+     * Squared distances past which a viewer only receives every second and fourth particle.
+     */
+    public static final double NEAR_DISTANCE_SQUARED = 12 * 12;
+    public static final double FAR_DISTANCE_SQUARED = 24 * 24;
+
+    /**
+     * The vanilla range of non-forced particles.
+     */
+    public static final double MAX_DISTANCE_SQUARED = 32 * 32;
+
+    private static final DustParticleEffect UNTEAMED_EFFECT = new DustParticleEffect(new Vector3f(1.0F, 1.0F, 1.0F), 1.0F);
+
+    /**
+     * Trails of players on other scoreboard teams, by team colour.
+     */
+    private final Map<Formatting, DustParticleEffect> colorEffects = new EnumMap<>(Formatting.class);
+
+    private int budget = MAX_PARTICLES_PER_TICK;
+
+    public void tick() {
+        this.budget = MAX_PARTICLES_PER_TICK;
+    }
+
+    public void emit(ArrowEntity entity) {
+        if (this.budget <= 0) {
+            return;
+        }
+
+        ParticleEffect effect;
+        if (entity.getOwner() instanceof PlayerEntity player) {
+            AbstractTeam scoreboardTeam = player.getScoreboardTeam();
+            GameTeam team = GameTeam.ofAny(scoreboardTeam);
+            effect = team != null ? team.getParticleEffect() : this.getColorEffect(scoreboardTeam);
+        } else {
+            effect = ParticleTypes.ELECTRIC_SPARK;
+        }
+
+        double x = entity.getX();
+        double y = entity.getY();
+        double z = entity.getZ();
+        int age = entity.age;
+
+        ParticleS2CPacket packet = null;
+        for (ServerPlayerEntity viewer : PlayerLookup.tracking(entity)) {
+            double distance = viewer.squaredDistanceTo(x, y, z);
+            if (distance >= MAX_DISTANCE_SQUARED) {
+                continue;
+            }
+
+            int stride = distance < NEAR_DISTANCE_SQUARED ? 1 : distance < FAR_DISTANCE_SQUARED ? 2 : 4;
+            if ((age + viewer.getId()) % stride != 0) {
+                continue;
+            }
+
+            if (packet == null) {
+                packet = new ParticleS2CPacket(effect, false, x, y, z, 0.0F, 0.0F, 0.0F, 0.0F, 1);
+            }
+
+            viewer.networkHandler.sendPacket(packet);
+            if (--this.budget <= 0) {
+                return;
+            }
+        }
+    }
+
+    private DustParticleEffect getColorEffect(@Nullable AbstractTeam team) {
+        if (team == null) {
+            return UNTEAMED_EFFECT;
+        }
+
+        Formatting formatting = team.getColor();
+        Integer color = formatting.getColorValue();
+        if (color == null) {
+            return UNTEAMED_EFFECT;
+        }
+
+        return this.colorEffects.computeIfAbsent(formatting, key -> new DustParticleEffect(new Vector3f(((color >> 16) & 0xFF) / 255F, ((color >> 8) & 0xFF) / 255F, (color & 0xFF) / 255F), 1.0F));
+    }
+}
@@ -0,0 +1,133 @@
+package dev.andante.dodgebolt.game;
+
+import dev.andante.dodgebolt.util.PackedXZ;
+
+/**
+ * The floor of an arena split into layers by distance to its edge, computed once per arena.
+ * Layer {@code 0} is the outermost ring, and every layer is a flat array of {@link PackedXZ packed} positions.
+ */
+public class DecayLayers {
+    private static final long[] EMPTY = new long[0];
+
+    private final long[][] layers;
+    private final int size;
+
+    private DecayLayers(long[][] layers, int size) {
+        this.layers = layers;
+        this.size = size;
+    }
+
+    public long[] getLayer(int layer) {
+        return layer >= 0 && layer < this.layers.length ? this.layers[layer] : EMPTY;
+    }
+
+    public int getLayerCount() {
+        return this.layers.length;
+    }
+
+    /**
+     * @return the number of positions across every layer
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public static DecayLayers rectangle(int minX, int minZ, int maxX, int maxZ) {
+        return compute(minX, minZ, maxX, maxZ, (x, z) -> true);
+    }
+
+    /**
+     * Computes the layers of every position within the given bounds that is part of the floor,
+     * using the chessboard distance to the nearest position outside of the floor.
+     */
+    public static DecayLayers compute(int minX, int minZ, int maxX, int maxZ, FloorMask mask) {
+        int width = maxX - minX + 1;
+        int depth = maxZ - minZ + 1;
+        int area = width * depth;
+
+        int[] distances = new int[area];
+        int[] queue = new int[area];
+        int head = 0, tail = 0;
+
+        for (int dz = 0; dz < depth; dz++) {
+            for (int dx = 0; dx < width; dx++) {
+                distances[dx + dz * width] = mask.isFloor(minX + dx, minZ + dz) ? -1 : -2;
+            }
+        }
+
+        // seed the outermost ring, being every floor position touching anything that is not floor
+        for (int dz = 0; dz < depth; dz++) {
+            for (int dx = 0; dx < width; dx++) {
+                int i = dx + dz * width;
+                if (distances[i] == -1 && isEdge(distances, width, depth, dx, dz)) {
+                    distances[i] = 0;
+                    queue[tail++] = i;
+                }
+            }
+        }
+
+        int maxDistance = -1;
+        while (head < tail) {
+            int i = queue[head++];
+            int dx = i % width;
+            int dz = i / width;
+            int distance = distances[i];
+            maxDistance = Math.max(maxDistance, distance);
+
+            for (int oz = -1; oz <= 1; oz++) {
+                for (int ox = -1; ox <= 1; ox++) {
+                    int nx = dx + ox;
+                    int nz = dz + oz;
+                    if (nx >= 0 && nx < width && nz >= 0 && nz < depth) {
+                        int n = nx + nz * width;
+                        if (distances[n] == -1) {
+                            distances[n] = distance + 1;
+                            queue[tail++] = n;
+                        }
+                    }
+                }
+            }
+        }
+
+        int[] counts = new int[maxDistance + 1];
+        for (int distance : distances) {
+            if (distance >= 0) {
+                counts[distance]++;
+            }
+        }
+
+        long[][] layers = new long[counts.length][];
+        for (int layer = 0; layer < layers.length; layer++) {
+            layers[layer] = new long[counts[layer]];
+        }
+
+        int[] cursors = new int[counts.length];
+        for (int i = 0; i < area; i++) {
+            int distance = distances[i];
+            if (distance >= 0) {
+                layers[distance][cursors[distance]++] = PackedXZ.pack(minX + i % width, minZ + i / width);
+            }
+        }
+
+        return new DecayLayers(layers, tail);
+    }
+
+    private static boolean isEdge(int[] distances, int width, int depth, int dx, int dz) {
+        for (int oz = -1; oz <= 1; oz++) {
+            for (int ox = -1; ox <= 1; ox++) {
+                int nx = dx + ox;
+                int nz = dz + oz;
+                if (nx < 0 || nx >= width || nz < 0 || nz >= depth || distances[nx + nz * width] == -2) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @FunctionalInterface
+    public interface FloorMask {
+        boolean isFloor(int x, int z);
+    }
+}
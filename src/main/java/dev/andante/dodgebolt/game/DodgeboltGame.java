@@ -3,11 +3,31 @@ package dev.andante.dodgebolt.game;
 import com.mojang.logging.LogUtils;
 import dev.andante.dodgebolt.Dodgebolt;
 import dev.andante.dodgebolt.ItemEntityAccess;
+import dev.andante.dodgebolt.eventlog.GameEvent;
+import dev.andante.dodgebolt.jfr.EdgeTickEvent;
+import dev.andante.dodgebolt.jfr.GameTickEvent;
+import dev.andante.dodgebolt.jfr.RoundEvent;
+import dev.andante.dodgebolt.replay.ReplayFormat;
+import dev.andante.dodgebolt.replay.ReplayRecorder;
+import dev.andante.dodgebolt.rules.DodgeboltRules;
+import dev.andante.dodgebolt.rules.RoundStage;
+import dev.andante.dodgebolt.rules.Side;
+import dev.andante.dodgebolt.stats.StatType;
+import dev.andante.dodgebolt.stats.StatsStore;
+import dev.andante.dodgebolt.util.ArenaSnapshotCache;
+import dev.andante.dodgebolt.util.BlockBatch;
+import dev.andante.dodgebolt.util.BroadcastHelper;
+import dev.andante.dodgebolt.util.DodgeboltSounds;
+import dev.andante.dodgebolt.util.PackedXZ;
+import dev.andante.dodgebolt.util.ProcessedArena;
+import dev.andante.dodgebolt.util.SectionSnapshot;
 import dev.andante.dodgebolt.util.StructureHelper;
 import dev.andante.dodgebolt.util.TitleHelper;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.fabricmc.fabric.api.networking.v1.PacketSender;
 import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.fabricmc.fabric.api.tag.convention.v1.ConventionalItemTags;
+import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.entity.Entity;
@@ -23,70 +43,80 @@ import net.minecraft.item.Items;
 import net.minecraft.network.packet.c2s.play.ClientStatusC2SPacket;
 import net.minecraft.network.packet.c2s.play.ClientStatusC2SPacket.Mode;
 import net.minecraft.network.packet.s2c.play.ClearTitleS2CPacket;
-import net.minecraft.network.packet.s2c.play.PlaySoundS2CPacket;
-import net.minecraft.network.packet.s2c.play.StopSoundS2CPacket;
-import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.scoreboard.ServerScoreboard;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayNetworkHandler;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.sound.SoundCategory;
-import net.minecraft.sound.SoundEvent;
 import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.TypeFilter;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.hit.EntityHitResult;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.BlockView;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.function.Predicate;
-
-import static dev.andante.dodgebolt.util.Constants.ALPHA_ARROW_SPAWN_POS;
-import static dev.andante.dodgebolt.util.Constants.ALPHA_POSITIONS;
-import static dev.andante.dodgebolt.util.Constants.ARENA_MAX;
-import static dev.andante.dodgebolt.util.Constants.ARENA_MID_Z;
-import static dev.andante.dodgebolt.util.Constants.ARENA_MIN;
-import static dev.andante.dodgebolt.util.Constants.ARENA_POS;
-import static dev.andante.dodgebolt.util.Constants.ARENA_SPAWN_POS;
-import static dev.andante.dodgebolt.util.Constants.BETA_ARROW_SPAWN_POS;
-import static dev.andante.dodgebolt.util.Constants.BETA_POSITIONS;
-import static net.minecraft.SharedConstants.TICKS_PER_SECOND;
+import java.util.Set;
+import java.util.UUID;
 
 public class DodgeboltGame {
     protected static final Logger LOGGER = LogUtils.getLogger();
 
+    /**
+     * The time each tick may spend scanning the arena for damage between rounds.
+     */
+    public static final long REPAIR_BUDGET_NANOS = 500_000L;
+
+    private static final DateTimeFormatter REPLAY_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final GameHud.Title RETURN_TITLE = GameHud.Title.of(Text.empty(), Text.literal("<< RETURN TO YOUR HALF >>").formatted(Formatting.BOLD, Formatting.RED), 20);
+
+    private final Arena arena;
     private final GameTeam teamAlpha;
     private final GameTeam teamBeta;
 
-    private int round;
-    private int scoreAlpha, scoreBeta;
+    private final DodgeboltRules rules;
+    private MinecraftServer server;
+    private int tickBlocks;
 
-    private RoundStage stage;
-    private int tick;
     private EdgeManager edgeManager;
-    private final List<ServerPlayerEntity> eliminated;
-
-    public DodgeboltGame(GameTeam alpha, GameTeam beta) {
+    private ArenaRepairer repairer;
+    private ReplayRecorder recorder;
+    private IceBitmap iceBitmap;
+    private final GameHud hud;
+    private final GameEntities entities;
+    private final Set<UUID> eliminated;
+
+    public DodgeboltGame(Arena arena, GameTeam alpha, GameTeam beta) {
+        this.arena = arena;
         this.teamAlpha = alpha;
         this.teamBeta = beta;
-        this.eliminated = new ArrayList<>();
+        this.eliminated = new ObjectOpenHashSet<>();
+        this.hud = new GameHud();
+        this.entities = new GameEntities(this);
+        this.rules = new DodgeboltRules(arena.getDecayLayers().getLayerCount(), new RulesListener());
+        this.updateScore();
     }
 
     public void initialize(MinecraftServer server) {
-        LOGGER.info("Initializing Dodgebolt Game");
+        Dodgebolt.DODGEBOLT_MANAGER.getEventLog().publish(new GameEvent.GameStart(this.arena.getIndex(), this.teamAlpha, this.teamBeta));
+        this.server = server;
 
+        this.repairer = new ArenaRepairer(Dodgebolt.DODGEBOLT_MANAGER.getArenaCache().get(server.getOverworld(), this.teamAlpha, this.teamBeta), this.arena.getStructurePos());
+        this.iceBitmap = new IceBitmap(this.arena, this.repairer.getExpected());
+        String replayName = "arena%d-%s%s".formatted(this.arena.getIndex(), REPLAY_DATE_FORMAT.format(LocalDateTime.now()), ReplayFormat.EXTENSION);
+        this.recorder = ReplayRecorder.start(FabricLoader.getInstance().getGameDir().resolve("replays").resolve(replayName), this.arena.getIndex(), this.teamAlpha.name(), this.teamBeta.name());
         this.triggerRound(server);
 
         ServerScoreboard scoreboard = server.getScoreboard();
@@ -98,15 +128,14 @@ public class DodgeboltGame {
     }
 
     public void triggerRound(MinecraftServer server) {
-        this.round++;
-        this.changeState(server, RoundStage.PRE);
-        this.tick = 0;
+        RoundEvent event = new RoundEvent();
+        event.begin();
+
         this.edgeManager = new EdgeManager();
         this.eliminated.clear();
 
-        LOGGER.info("Starting round {}", this.round);
-
         this.requestRespawn(server);
+        this.rules.triggerRound(this.teamAlpha.getPlayers(server).size(), this.teamBeta.getPlayers(server).size());
 
         for (ServerPlayerEntity player : this.getAlive(server)) {
             player.setHealth(player.getMaxHealth());
@@ -114,21 +143,45 @@ public class DodgeboltGame {
         }
 
         ServerWorld world = server.getOverworld();
-        world.getEntitiesByType(TypeFilter.instanceOf(Entity.class), entity -> entity instanceof ItemEntity || entity instanceof ArrowEntity).forEach(Entity::discard);
-        StructureHelper.placeArena(world, ARENA_POS, this.teamAlpha, this.teamBeta);
-        this.setupBarriers(world, false);
+        int discarded = this.entities.discardAll();
+        if (this.rules.getRound() == 1) {
+            // strays left in the arena before the game started were never registered
+            world.getEntitiesByType(TypeFilter.instanceOf(Entity.class), entity -> (entity instanceof ItemEntity || entity instanceof ArrowEntity) && this.arena.contains(entity.getX(), entity.getZ())).forEach(Entity::discard);
+        }
+
+        int blocks;
+        ArenaSnapshotCache snapshots = Dodgebolt.DODGEBOLT_MANAGER.getArenaSnapshots();
+        SectionSnapshot snapshot = snapshots.get(this.arena.getIndex(), this.teamAlpha, this.teamBeta);
+        BlockPos structurePos = this.arena.getStructurePos();
+        ProcessedArena expected = this.repairer.getExpected();
+        if (snapshot != null) {
+            blocks = snapshot.restore(world);
+            expected.finishPlacement(world, structurePos);
+            this.repairer.clearDirty();
+        } else if (this.rules.getRound() == 1) {
+            blocks = StructureHelper.placeArena(world, structurePos, expected);
+            snapshots.put(this.arena.getIndex(), this.teamAlpha, this.teamBeta, SectionSnapshot.capture(world, structurePos, structurePos.add(expected.getSize()).add(-1, -1, -1)));
+        } else {
+            // the snapshot was dropped mid-game, such as by a data pack reload
+            BlockBatch batch = new BlockBatch(world);
+            int repaired = this.repairer.repairDirty(batch);
+            blocks = batch.apply(BlockBatch.UPDATE_LIGHT);
+            LOGGER.debug("Repaired {} arena blocks", repaired);
+        }
+        this.iceBitmap.reset();
+        blocks += this.setupBarriers(world, false);
         this.teleportTeamsToSpawn(server, world);
 
-        if (this.round == 1) {
-            List<ServerPlayerEntity> alphaPlayers = this.teamAlpha.getPlayers(server);
-            List<ServerPlayerEntity> betaPlayers = this.teamBeta.getPlayers(server);
-            List<ServerPlayerEntity> players = PlayerLookup.all(server).stream().filter(player -> !alphaPlayers.contains(player) && !betaPlayers.contains(player)).toList();
+        if (this.rules.getRound() == 1) {
+            BlockPos spawnPos = this.arena.getSpawnPos();
+            List<ServerPlayerEntity> players = PlayerLookup.all(server).stream().filter(player -> !Dodgebolt.DODGEBOLT_MANAGER.isOccupied(player)).toList();
             for (ServerPlayerEntity player : players) {
-                player.teleport(world, ARENA_SPAWN_POS.getX(), ARENA_SPAWN_POS.getY(), ARENA_SPAWN_POS.getZ(), 0.0F, 0.0F);
+                player.teleport(world, spawnPos.getX(), spawnPos.getY(), spawnPos.getZ(), 0.0F, 0.0F);
             }
         }
 
-        LOGGER.info("Started round {} with {} eliminated by default", this.round, this.eliminated.size());
+        Dodgebolt.DODGEBOLT_MANAGER.getEventLog().publish(new GameEvent.RoundStart(this.arena.getIndex(), this.rules.getRound(), this.eliminated.size(), blocks));
+        this.commitRoundEvent(event, RoundEvent.TRIGGER, blocks, discarded);
     }
 
     public void setupInventory(ServerPlayerEntity player, boolean clear) {
@@ -142,12 +195,15 @@ public class DodgeboltGame {
     }
 
     public void terminate(MinecraftServer server) {
-        LOGGER.info("Terminating game at round {}", this.round);
+        Dodgebolt.DODGEBOLT_MANAGER.getEventLog().publish(new GameEvent.GameEnd(this.arena.getIndex(), this.rules.getRound()));
+        this.entities.release();
+        this.recorder.close();
 
-        this.requestRespawn(server);
+        List<ServerPlayerEntity> audience = this.getAudience(server);
+        audience.forEach(this::requestRespawn);
 
-        for (ServerPlayerEntity player : PlayerLookup.all(server)) {
-            this.stopMusic(player);
+        BroadcastHelper.stopMusic(audience);
+        for (ServerPlayerEntity player : audience) {
             player.getInventory().clear();
         }
 
@@ -156,113 +212,65 @@ public class DodgeboltGame {
 
         float spawnAngle = world.getSpawnAngle();
         Vec3d spawnPos = Vec3d.ofBottomCenter(world.getSpawnPos());
-        for (ServerPlayerEntity player : PlayerLookup.all(server)) {
+        for (ServerPlayerEntity player : audience) {
             player.teleport(world, spawnPos.x, spawnPos.y, spawnPos.z, spawnAngle, 0.0F);
         }
     }
 
-    public void tick(MinecraftServer server) {
-        int second = tick / TICKS_PER_SECOND;
-
-        for (ServerPlayerEntity player : PlayerLookup.all(server)) {
-            // player.sendMessage(Text.literal(this.stage.name() + " " + this.round + " " + tick + " " + second), true);
-            player.sendMessage(
-                    Text.empty()
-                        .append(Text.literal("" + this.scoreAlpha).setStyle(Dodgebolt.getTeamStyle(this.teamAlpha)))
-                        .append(" | ")
-                        .append(Text.literal("" + this.scoreBeta).setStyle(Dodgebolt.getTeamStyle(this.teamBeta))), true
-            );
-        }
-
-        switch (this.stage) {
-            case PRE -> {
-                int max = 15;
-                if (second >= max) {
-                    this.startRound(server);
-                } else {
-                    if (this.tick % TICKS_PER_SECOND == 0) {
-                        int countdown = max - second;
-                        if (countdown <= 10) {
-                            for (ServerPlayerEntity player : PlayerLookup.all(server)) {
-                                TitleHelper.sendTimes(player, 0, 30, 0);
-                                TitleHelper.sendTitle(player, Text.literal("Starting in").formatted(Formatting.AQUA),
-                                                      Text.literal("▶" + countdown + "◀").formatted(Formatting.BOLD, countdown == 3
-                                                              ? Formatting.RED : countdown == 2
-                                                              ? Formatting.YELLOW : countdown == 1
-                                                              ? Formatting.GREEN : Formatting.WHITE
-                                                      )
-                                );
-
-                                if (countdown <= 3) {
-                                    this.playSound(player, "start_claxon");
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-
-            case IN_GAME -> {
-                List<ServerPlayerEntity> alphaPlayers = this.getAliveOf(server, this.teamAlpha);
-                List<ServerPlayerEntity> betaPlayers = this.getAliveOf(server, this.teamBeta);
-
-                if (alphaPlayers.isEmpty() || betaPlayers.isEmpty()) {
-                    if (alphaPlayers.size() > betaPlayers.size()) {
-                        this.scoreAlpha++;
-                    } else {
-                        this.scoreBeta++;
-                    }
-
-                    this.endRound(server);
-                } else {
-                    for (ServerPlayerEntity player : this.getAlive(server)) {
-                        boolean isAlpha = this.teamAlpha.getPlayers(server).contains(player);
-                        double z = player.getZ();
-                        if (isAlpha ? z >= ARENA_MID_Z : z <= ARENA_MID_Z) {
-                            TitleHelper.sendTimes(player, 0, 5, 0);
-                            TitleHelper.sendTitle(player, Text.empty(), Text.literal("<< RETURN TO YOUR HALF >>").formatted(Formatting.BOLD, Formatting.RED));
-                            float diff = (float) (isAlpha ? z - ARENA_MID_Z : ARENA_MID_Z - z);
-                            player.damage(DamageSource.IN_WALL, (diff * diff) / 2.5F);
-                            player.getInventory().remove(stack -> stack.isOf(Items.BOW), -1, player.playerScreenHandler.getCraftingInput());
-                        } else {
-                            if (!player.getInventory().contains(ConventionalItemTags.BOWS)) {
-                                this.setupInventory(player, false);
-                            }
-                        }
-
-                        if (player.isInLava()) {
-                            player.kill();
-                        }
-                    }
-                }
+    /**
+     * Waits for the replay closed by {@link #terminate} to be written.
+     */
+    public void awaitReplay() {
+        this.recorder.awaitClosed();
+    }
 
-                if (tick % TICKS_PER_SECOND == 0) {
-                    if (second != 0 && second % 20 == 0) {
-                        this.edgeManager.queue();
+    public void tick(MinecraftServer server) {
+        GameTickEvent event = new GameTickEvent();
+        event.begin();
+
+        RoundStage stage = this.rules.getStage();
+        this.tickBlocks = 0;
+        this.rules.tick();
+
+        this.recorder.tick();
+        if (this.rules.getStage() == RoundStage.IN_GAME && this.recorder.shouldSamplePositions()) {
+            // recording leaves the roster alone, so it is read in place
+            for (Side side : Side.values()) {
+                for (ServerPlayerEntity player : this.getTeam(side).getPlayers(server)) {
+                    if (!this.eliminated.contains(player.getUuid())) {
+                        this.recorder.position(player.getUuid(), side, player.getX(), player.getY(), player.getZ());
                     }
                 }
-
-                this.edgeManager.tick(server);
             }
+        }
 
-            case POST -> {
-                int max = 5;
-                if (second >= max) {
-                    this.triggerRound(server);
-                }
-            }
+        if (!this.rules.isOver()) {
+            this.hud.tick(this.getAudience(server));
+        }
 
-            case END -> {
-                if (second >= 10) {
-                    Dodgebolt.DODGEBOLT_MANAGER.tryEnd(server);
-                }
-            }
+        if (event.shouldCommit()) {
+            event.arena = this.arena.getIndex();
+            event.round = this.rules.getRound();
+            event.stage = stage.name();
+            event.blocks = this.tickBlocks;
+            event.entities = this.entities.size();
+            event.commit();
         }
+    }
 
-        this.tick++;
+    private void updateScore() {
+        this.hud.setActionBar(
+                Text.empty()
+                    .append(Text.literal("" + this.rules.getScore(Side.ALPHA)).setStyle(Dodgebolt.getTeamStyle(this.teamAlpha)))
+                    .append(" | ")
+                    .append(Text.literal("" + this.rules.getScore(Side.BETA)).setStyle(Dodgebolt.getTeamStyle(this.teamBeta)))
+        );
     }
 
     public void onHitBlock(ArrowEntity entity, BlockHitResult hit) {
+        BlockPos pos = hit.getBlockPos();
+        this.recorder.hitBlock(entity.getId(), pos.getX(), pos.getY(), pos.getZ());
+
         if (!entity.getScoreboardTags().contains("item_immune")) {
             ItemEntity itemEntity = new ItemEntity(entity.world, entity.getX(), entity.getY(), entity.getZ(), new ItemStack(Items.ARROW));
             itemEntity.setVelocity(0.0D, 0.15D, 0.0D);
@@ -277,6 +285,7 @@ public class DodgeboltGame {
         if (hit.getEntity() instanceof ServerPlayerEntity player) {
             if (entity.getOwner() instanceof PlayerEntity owner) {
                 if (owner.getScoreboardTeam() != player.getScoreboardTeam()) {
+                    this.recorder.hitEntity(entity.getId(), player.getUuid(), this.getSide(player), owner.getUuid(), this.getSide(owner));
                     player.damage(DamageSource.arrow(entity, owner), Float.MAX_VALUE);
                     owner.addExperience(1);
                     entity.dropItem(Items.ARROW);
@@ -289,34 +298,39 @@ public class DodgeboltGame {
     public void onJoin(ServerPlayerEntity player, ServerPlayNetworkHandler handler, PacketSender sender, MinecraftServer server) {
         GameTeam team = GameTeam.of(player.getScoreboardTeam());
         if (team == this.teamAlpha || team == this.teamBeta) {
-            if (this.eliminated.stream().noneMatch(xplayer -> player.getEntityName().equals(xplayer.getEntityName()))) {
-                this.eliminated.add(player);
-                player.teleport(player.getWorld(), ARENA_SPAWN_POS.getX(), ARENA_SPAWN_POS.getY(), ARENA_SPAWN_POS.getZ(), 0.0F, 0.0F);
+            // players that were offline at the start of the round were never counted as alive
+            if (this.eliminated.add(player.getUuid())) {
+                BlockPos spawnPos = this.arena.getSpawnPos();
+                player.teleport(player.getWorld(), spawnPos.getX(), spawnPos.getY(), spawnPos.getZ(), 0.0F, 0.0F);
             }
         }
     }
 
     public void onDisconnect(ServerPlayNetworkHandler handler, MinecraftServer server) {
         ServerPlayerEntity player = handler.player;
+        this.hud.remove(player);
         GameTeam team = GameTeam.of(player.getScoreboardTeam());
         if (team == this.teamAlpha || team == this.teamBeta) {
-            if (this.eliminated.stream().noneMatch(xplayer -> player.getEntityName().equals(xplayer.getEntityName()))) {
-                player.teleport(player.getWorld(), ARENA_SPAWN_POS.getX(), ARENA_SPAWN_POS.getY(), ARENA_SPAWN_POS.getZ(), 0.0F, 0.0F);
+            if (this.eliminate(player, team)) {
+                BlockPos spawnPos = this.arena.getSpawnPos();
+                player.teleport(player.getWorld(), spawnPos.getX(), spawnPos.getY(), spawnPos.getZ(), 0.0F, 0.0F);
                 this.onEliminated(player, player.getPrimeAdversary());
             }
         }
     }
 
     public void onArrowItemDestroyed(ItemEntity entity) {
+        Vec3d alphaPos = this.arena.getAlphaArrowSpawnPos();
+        Vec3d betaPos = this.arena.getBetaArrowSpawnPos();
         for (int i = 0, l = entity.getStack().getCount(); i < l; i++) {
-            this.spawnArrow(entity.world, entity.squaredDistanceTo(ALPHA_ARROW_SPAWN_POS) < entity.squaredDistanceTo(BETA_ARROW_SPAWN_POS) ? ALPHA_ARROW_SPAWN_POS : BETA_ARROW_SPAWN_POS);
+            this.spawnArrow(entity.world, entity.squaredDistanceTo(alphaPos) < entity.squaredDistanceTo(betaPos) ? alphaPos : betaPos);
         }
     }
 
     public void onItemTick(ItemEntity entity) {
-        if (this.stage == RoundStage.IN_GAME) {
+        if (this.rules.getStage() == RoundStage.IN_GAME) {
             ItemEntityAccess access = (ItemEntityAccess) entity;
-            if (!entity.world.getBlockState(entity.getBlockPos().down()).isOf(Blocks.ICE)) {
+            if (!this.iceBitmap.isIce(MathHelper.floor(entity.getX()), MathHelper.floor(entity.getY()) - 1, MathHelper.floor(entity.getZ()))) {
                 access.setTimer(access.getTimer() + 1);
 
                 if (access.getTimer() > 30) {
@@ -345,6 +359,7 @@ public class DodgeboltGame {
             entity.setYaw(0.0F);
             entity.setPitch(0.0F);
             world.spawnEntity(entity);
+            this.recorder.arrowSpawn(entity.getId(), pos.x, pos.y, pos.z);
         }
     }
 
@@ -353,12 +368,13 @@ public class DodgeboltGame {
     }
 
     public void requestRespawn(MinecraftServer server) {
-        new ArrayList<>(PlayerLookup.all(server)).forEach(this::requestRespawn);
+        this.getAudience(server).forEach(this::requestRespawn);
     }
 
     public void onDeath(ServerPlayerEntity player, DamageSource source, float amount) {
-        this.eliminated.add(player);
-        this.onEliminated(player, source.getAttacker());
+        if (this.eliminate(player, GameTeam.of(player.getScoreboardTeam()))) {
+            this.onEliminated(player, source.getAttacker());
+        }
 
         player.setVelocity(Vec3d.ZERO);
         player.velocityModified = true;
@@ -366,15 +382,21 @@ public class DodgeboltGame {
     }
 
     protected void onEliminated(ServerPlayerEntity player, @Nullable Entity attacker) {
+        StatsStore stats = Dodgebolt.DODGEBOLT_MANAGER.getStats();
+        stats.increment(player.getUuid(), StatType.DEATHS);
+        if (attacker instanceof PlayerEntity attackerPlayer) {
+            stats.increment(attackerPlayer.getUuid(), StatType.KILLS);
+            this.recorder.elimination(player.getUuid(), this.getSide(player), attackerPlayer.getUuid(), this.getSide(attackerPlayer));
+        } else {
+            this.recorder.elimination(player.getUuid(), this.getSide(player), null, null);
+        }
+
         MinecraftServer server = player.getServer();
         if (server != null) {
-            int alphaPlayers = this.getAliveOf(server, this.teamAlpha).size();
-            int betaPlayers = this.getAliveOf(server, this.teamBeta).size();
-            if ((alphaPlayers == 1 && betaPlayers > 1) || (betaPlayers == 1 && alphaPlayers > 1)) {
-                for (ServerPlayerEntity xplayer : PlayerLookup.all(server)) {
-                    this.stopMusic(xplayer);
-                    this.playSoundFast(xplayer, "dodgebolt_loop");
-                }
+            List<ServerPlayerEntity> audience = this.getAudience(server);
+            if (this.rules.isLastStand()) {
+                BroadcastHelper.stopMusic(audience);
+                BroadcastHelper.playSoundFast(audience, DodgeboltSounds.DODGEBOLT_LOOP);
             }
 
             ServerPlayerEntity attackerPlayer = Optional.ofNullable(attacker)
@@ -389,274 +411,464 @@ public class DodgeboltGame {
                 text.append(" died");
             }
 
-            LOGGER.info(text.getString());
+            Dodgebolt.DODGEBOLT_MANAGER.getEventLog().publish(new GameEvent.Elimination(this.arena.getIndex(), player.getUuid(), player.getEntityName(), attackerPlayer == null ? null : attackerPlayer.getEntityName(), text));
 
-            for (ServerPlayerEntity xplayer : PlayerLookup.all(server)) {
-                xplayer.sendMessage(text);
-                this.playSound(xplayer, "early_elimination");
-            }
+            BroadcastHelper.sendMessage(audience, text);
+            BroadcastHelper.playSound(audience, DodgeboltSounds.EARLY_ELIMINATION);
         }
 
         PlayerInventory inventory = player.getInventory();
         player.dropStack(new ItemStack(Items.ARROW, inventory.remove(stack -> stack.isOf(Items.ARROW), 0, player.playerScreenHandler.getCraftingInput())));
         inventory.clear();
 
-        this.edgeManager.queue();
+        this.rules.queueDecay();
     }
 
     public void onRespawn(ServerPlayerEntity oldPlayer, ServerPlayerEntity player, boolean alive) {
         MinecraftServer server = player.getServer();
         if (server != null) {
-            player.teleport(server.getOverworld(), ARENA_SPAWN_POS.getX(), ARENA_SPAWN_POS.getY(), ARENA_SPAWN_POS.getZ(), 0.0F, 0.0F);
+            BlockPos spawnPos = this.arena.getSpawnPos();
+            player.teleport(server.getOverworld(), spawnPos.getX(), spawnPos.getY(), spawnPos.getZ(), 0.0F, 0.0F);
         }
 
         this.setupInventory(player, true);
     }
 
+    /**
+     * Marks a player as eliminated, updating the alive count of their team.
+     *
+     * @return whether the player was alive
+     */
+    private boolean eliminate(ServerPlayerEntity player, @Nullable GameTeam team) {
+        if (!this.eliminated.add(player.getUuid())) {
+            return false;
+        }
+
+        Side side = this.getSide(team);
+        if (side != null) {
+            this.rules.removeAlive(side);
+        }
+
+        return true;
+    }
+
+    /**
+     * Called when a player joins one of this game's teams through the scoreboard. They sit out until the next round.
+     */
+    public void onTeamJoin(ServerPlayerEntity player, GameTeam team) {
+        this.eliminated.add(player.getUuid());
+    }
+
+    /**
+     * Called when a player leaves one of this game's teams through the scoreboard.
+     */
+    public void onTeamLeave(ServerPlayerEntity player, GameTeam team) {
+        this.eliminate(player, team);
+    }
+
+    public boolean isEliminated(ServerPlayerEntity player) {
+        return this.eliminated.contains(player.getUuid());
+    }
+
+    public int getAliveCount(GameTeam team) {
+        Side side = this.getSide(team);
+        return side == null ? 0 : this.rules.getAlive(side);
+    }
+
+    /**
+     * @return a copy, as callers may eliminate players and so change the roster while iterating
+     */
     public List<ServerPlayerEntity> getAliveOf(MinecraftServer server, GameTeam team) {
-        return team.getPlayers(server).stream().filter(Predicate.not(this.eliminated::contains)).toList();
+        List<ServerPlayerEntity> alive = new ArrayList<>();
+        this.addAlive(team, alive);
+        return alive;
     }
 
     public List<ServerPlayerEntity> getAlive(MinecraftServer server) {
-        List<ServerPlayerEntity> list = new ArrayList<>(this.getAliveOf(server, this.teamAlpha));
-        list.addAll(this.getAliveOf(server, this.teamBeta));
-        return list;
+        List<ServerPlayerEntity> alive = new ArrayList<>();
+        this.addAlive(this.teamAlpha, alive);
+        this.addAlive(this.teamBeta, alive);
+        return alive;
+    }
+
+    private void addAlive(GameTeam team, List<ServerPlayerEntity> alive) {
+        for (ServerPlayerEntity player : team.getPlayers()) {
+            if (!this.eliminated.contains(player.getUuid())) {
+                alive.add(player);
+            }
+        }
     }
 
     /**
-     * Called on every round start.
+     * @return every player playing in or watching this game
      */
-    private void startRound(MinecraftServer server) {
-        this.changeState(server, RoundStage.IN_GAME);
-        this.tick = 0;
+    public List<ServerPlayerEntity> getAudience(MinecraftServer server) {
+        List<ServerPlayerEntity> audience = new ArrayList<>(this.teamAlpha.getPlayers(server));
+        audience.addAll(this.teamBeta.getPlayers(server));
 
+        // spectators, looked up in the entity sections of the arena rather than among everyone online
         ServerWorld world = server.getOverworld();
-        this.setupBarriers(world, true);
-        this.spawnArrow(world, ALPHA_ARROW_SPAWN_POS);
-        this.spawnArrow(world, BETA_ARROW_SPAWN_POS);
+        TeamRoster roster = Dodgebolt.DODGEBOLT_MANAGER.getRoster();
+        audience.addAll(world.getEntitiesByType(TypeFilter.instanceOf(ServerPlayerEntity.class), this.arena.getRegion(world.getBottomY(), world.getTopY()), player -> {
+            GameTeam team = roster.getTeam(player);
+            return team != this.teamAlpha && team != this.teamBeta && this.arena.contains(player.getX(), player.getZ());
+        }));
+        return audience;
+    }
 
-        for (ServerPlayerEntity player : PlayerLookup.all(server)) {
-            player.networkHandler.sendPacket(new ClearTitleS2CPacket(true));
+    public GameEntities getEntities() {
+        return this.entities;
+    }
 
-            if (this.round == 1) {
-                this.playSound(player, "dodgebolt_resume");
-            }
+    public Arena getArena() {
+        return this.arena;
+    }
+
+    public GameTeam getTeamAlpha() {
+        return this.teamAlpha;
+    }
+
+    public GameTeam getTeamBeta() {
+        return this.teamBeta;
+    }
+
+    @Nullable
+    public Side getSide(@Nullable GameTeam team) {
+        return team == this.teamAlpha ? Side.ALPHA : team == this.teamBeta ? Side.BETA : null;
+    }
 
-            this.playSound(player, "start_claxon_final");
+    @Nullable
+    public Side getSide(PlayerEntity player) {
+        return this.getSide(GameTeam.of(player.getScoreboardTeam()));
+    }
+
+    public GameTeam getTeam(Side side) {
+        return side == Side.ALPHA ? this.teamAlpha : this.teamBeta;
+    }
+
+    public DodgeboltRules getRules() {
+        return this.rules;
+    }
+
+    /**
+     * Called on every round start.
+     */
+    private void startRound(MinecraftServer server) {
+        RoundEvent event = new RoundEvent();
+        event.begin();
+
+        ServerWorld world = server.getOverworld();
+        int blocks = this.setupBarriers(world, true);
+        this.spawnArrow(world, this.arena.getAlphaArrowSpawnPos());
+        this.spawnArrow(world, this.arena.getBetaArrowSpawnPos());
+
+        List<ServerPlayerEntity> audience = this.getAudience(server);
+        BroadcastHelper.send(audience, new ClearTitleS2CPacket(true));
+        if (this.rules.getRound() == 1) {
+            BroadcastHelper.playSound(audience, DodgeboltSounds.DODGEBOLT_RESUME);
         }
+        BroadcastHelper.playSound(audience, DodgeboltSounds.START_CLAXON_FINAL);
+        this.commitRoundEvent(event, RoundEvent.START, blocks, this.entities.size());
     }
 
-    public void changeState(MinecraftServer server, RoundStage stage) {
-        LOGGER.info("STATE CHANGE: {} -> {}", this.stage, stage);
-        Text text = Text.empty().append(Text.literal("STATE CHANGE: ").formatted(Formatting.GOLD)).append(Text.literal("%s -> %s".formatted(this.stage, stage)).formatted(Formatting.GRAY));
-        PlayerLookup.all(server).stream()
-                    .filter(player -> GameTeam.ofAny(player.getScoreboardTeam()) == GameTeam.ADMIN)
-                    .forEach(player -> player.sendMessage(text));
-        this.stage = stage;
+    private void onStageChange(RoundStage previous, RoundStage stage) {
+        this.recorder.stage(stage, this.rules.getRound());
+        Dodgebolt.DODGEBOLT_MANAGER.getEventLog().publish(new GameEvent.StateChange(this.arena.getIndex(), previous, stage));
+        Text text = Text.empty().append(Text.literal("STATE CHANGE [%s]: ".formatted(this.arena.getIndex())).formatted(Formatting.GOLD)).append(Text.literal("%s -> %s".formatted(previous, stage)).formatted(Formatting.GRAY));
+        BroadcastHelper.sendMessage(Dodgebolt.DODGEBOLT_MANAGER.getRoster().getPlayers(GameTeam.ADMIN), text);
     }
 
     /**
      * Called on every round end.
      */
-    private void endRound(MinecraftServer server) {
-        GameTeam winner = this.scoreAlpha > this.scoreBeta ? this.teamAlpha : this.teamBeta;
-        this.tick = 0;
+    private void endRound(MinecraftServer server, boolean gameOver) {
+        RoundEvent event = new RoundEvent();
+        event.begin();
 
-        LOGGER.info("Ending round {} with winner {}: {}-{}", this.round, winner, this.scoreAlpha, this.scoreBeta);
+        GameTeam winner = this.getTeam(this.rules.getLeader());
+        this.hud.resetTitles();
 
-        if (this.scoreAlpha >= 3 || this.scoreBeta >= 3) {
-            this.changeState(server, RoundStage.END);
-            for (ServerPlayerEntity player : PlayerLookup.all(server)) {
-                TitleHelper.sendTimes(player, 0, 40, 0);
-                TitleHelper.sendTitle(player, Text.literal("GAME OVER").formatted(Formatting.BOLD, Formatting.RED), Text.literal(winner.name() + " WIN!").setStyle(Dodgebolt.getTeamStyle(winner)));
+        Dodgebolt.DODGEBOLT_MANAGER.getEventLog().publish(new GameEvent.RoundEnd(this.arena.getIndex(), this.rules.getRound(), winner, this.rules.getScore(Side.ALPHA), this.rules.getScore(Side.BETA)));
 
-                this.stopMusic(player);
-                this.playSoundFast(player, "game_end");
-                this.playSoundFast(player, "advance");
-            }
+        if (gameOver) {
+            List<ServerPlayerEntity> audience = this.getAudience(server);
+            TitleHelper.broadcastTitle(audience, Text.literal("GAME OVER").formatted(Formatting.BOLD, Formatting.RED), Text.literal(winner.name() + " WIN!").setStyle(Dodgebolt.getTeamStyle(winner)), 0, 40, 0);
+            BroadcastHelper.stopMusic(audience);
+            BroadcastHelper.playSoundFast(audience, DodgeboltSounds.GAME_END);
+            BroadcastHelper.playSoundFast(audience, DodgeboltSounds.ADVANCE);
         } else {
-            this.changeState(server, RoundStage.POST);
-            for (ServerPlayerEntity player : PlayerLookup.all(server)) {
-                TitleHelper.sendTimes(player, 0, 40, 0);
-                TitleHelper.sendTitle(player, Text.literal("ROUND OVER").formatted(Formatting.BOLD, Formatting.RED), Text.empty());
-
-                this.stopMusic(player);
-                this.playSound(player, "game_end");
-                this.playSound(player, "team_eliminated");
-                this.playSound(player, "dodgebolt");
+            if (Dodgebolt.DODGEBOLT_MANAGER.getArenaSnapshots().get(this.arena.getIndex(), this.teamAlpha, this.teamBeta) == null) {
+                this.repairer.restartScan();
             }
+            List<ServerPlayerEntity> audience = this.getAudience(server);
+            TitleHelper.broadcastTitle(audience, Text.literal("ROUND OVER").formatted(Formatting.BOLD, Formatting.RED), Text.empty(), 0, 40, 0);
+            BroadcastHelper.stopMusic(audience);
+            BroadcastHelper.playSound(audience, DodgeboltSounds.GAME_END);
+            BroadcastHelper.playSound(audience, DodgeboltSounds.TEAM_ELIMINATED);
+            BroadcastHelper.playSound(audience, DodgeboltSounds.DODGEBOLT);
+        }
+
+        this.commitRoundEvent(event, RoundEvent.END, 0, this.entities.size());
+    }
+
+    private void commitRoundEvent(RoundEvent event, String transition, int blocks, int entities) {
+        if (event.shouldCommit()) {
+            event.arena = this.arena.getIndex();
+            event.round = this.rules.getRound();
+            event.transition = transition;
+            event.blocks = blocks;
+            event.entities = entities;
+            event.commit();
         }
     }
 
-    private void setupBarriers(World world, boolean remove) {
+    private int setupBarriers(ServerWorld world, boolean remove) {
         BlockState state = remove ? Blocks.AIR.getDefaultState() : Blocks.BARRIER.getDefaultState();
-        for (List<BlockPos> positions : List.of(ALPHA_POSITIONS, BETA_POSITIONS)) {
+        BlockBatch batch = new BlockBatch(world);
+        for (List<BlockPos> positions : List.of(this.arena.getAlphaPositions(), this.arena.getBetaPositions())) {
             for (BlockPos pos : positions) {
                 for (int i = 0; i < 2; i++) {
-                    world.setBlockState(pos.add(1, i, 0), state);
-                    world.setBlockState(pos.add(0, i, 1), state);
-                    world.setBlockState(pos.add(-1, i, 0), state);
-                    world.setBlockState(pos.add(0, i, -1), state);
+                    int y = pos.getY() + i;
+                    batch.set(pos.getX() + 1, y, pos.getZ(), state);
+                    batch.set(pos.getX(), y, pos.getZ() + 1, state);
+                    batch.set(pos.getX() - 1, y, pos.getZ(), state);
+                    batch.set(pos.getX(), y, pos.getZ() - 1, state);
                 }
             }
         }
+        return batch.apply(BlockBatch.SILENT);
     }
 
     public void teleportTeamsToSpawn(MinecraftServer server, ServerWorld world) {
-        List<ServerPlayerEntity> alphaPlayers = this.teamAlpha.getPlayers(server);
-        for (ServerPlayerEntity player : alphaPlayers) {
-            List<BlockPos> positions = ALPHA_POSITIONS;
-            int index = alphaPlayers.indexOf(player);
-            int i = index % positions.size();
-            Vec3d pos = Vec3d.ofBottomCenter(positions.get(i));
+        List<BlockPos> alphaPositions = this.arena.getAlphaPositions();
+        int index = 0;
+        for (ServerPlayerEntity player : this.teamAlpha.getPlayers(server)) {
+            Vec3d pos = Vec3d.ofBottomCenter(alphaPositions.get(index++ % alphaPositions.size()));
             player.teleport(world, pos.x, pos.y, pos.z, 0.0F, 0.0F);
         }
 
-        List<ServerPlayerEntity> betaPlayers = this.teamBeta.getPlayers(server);
-        for (ServerPlayerEntity player : betaPlayers) {
-            List<BlockPos> positions = BETA_POSITIONS;
-            int index = betaPlayers.indexOf(player);
-            int i = index % positions.size();
-            Vec3d pos = Vec3d.ofBottomCenter(positions.get(i));
+        List<BlockPos> betaPositions = this.arena.getBetaPositions();
+        index = 0;
+        for (ServerPlayerEntity player : this.teamBeta.getPlayers(server)) {
+            Vec3d pos = Vec3d.ofBottomCenter(betaPositions.get(index++ % betaPositions.size()));
             player.teleport(world, pos.x, pos.y, pos.z, 180.0F, 0.0F);
         }
     }
 
-    private void playSound(ServerPlayerEntity player, String id, float pitch) {
-        player.networkHandler.sendPacket(new PlaySoundS2CPacket(RegistryEntry.of(SoundEvent.of(new Identifier(Dodgebolt.MOD_ID, id))), SoundCategory.VOICE, 0.0D, 0.0D, 0.0D, 1.0F, pitch, 0L));
-    }
-
-    private void playSound(ServerPlayerEntity player, String id) {
-        this.playSound(player, id, 1.0F);
-    }
-
-    private void playSoundFast(ServerPlayerEntity player, String id) {
-        this.playSound(player, id, 1.2F);
-    }
-
-    private void stopMusic(ServerPlayerEntity player) {
-        player.networkHandler.sendPacket(new StopSoundS2CPacket(null, SoundCategory.VOICE));
-    }
-
-    public enum RoundStage {
-        PRE,
-        IN_GAME,
-        POST,
-        END
-    }
-
-    public class EdgeManager {
-        public static final int DURATION = 3 * 20;
-        public static final int FLASH_INTERVAL = DURATION / 10;
-
-        private final Map<BlockPos, BlockState> flipMap;
-
-        private int tick, lastDesired;
-        private int desired, stage;
+    /**
+     * Carries out the decisions of the {@link DodgeboltRules rules} in the world.
+     */
+    private class RulesListener implements DodgeboltRules.Listener {
+        @Override
+        public void onStageChange(RoundStage previous, RoundStage stage) {
+            DodgeboltGame.this.onStageChange(previous, stage);
+        }
+
+        @Override
+        public void onCountdown(int seconds) {
+            List<ServerPlayerEntity> audience = DodgeboltGame.this.getAudience(DodgeboltGame.this.server);
+            TitleHelper.broadcastTitle(audience, Text.literal("Starting in").formatted(Formatting.AQUA),
+                                       Text.literal("▶" + seconds + "◀").formatted(Formatting.BOLD, seconds == 3
+                                               ? Formatting.RED : seconds == 2
+                                               ? Formatting.YELLOW : seconds == 1
+                                               ? Formatting.GREEN : Formatting.WHITE
+                                       ), 0, 30, 0
+            );
 
-        public EdgeManager() {
-            this.flipMap = new HashMap<>();
+            if (seconds <= 3) {
+                BroadcastHelper.playSound(audience, DodgeboltSounds.START_CLAXON);
+            }
         }
 
-        public void tick(MinecraftServer server) {
-            if (this.stage != this.lastDesired) {
-                if (this.tick > DURATION) {
-                    ServerWorld world = server.getOverworld();
-                    for (BlockPos pos : calculatePerimeter(this.stage, this.lastDesired)) {
-                        world.setBlockState(pos.withY(11), Blocks.AIR.getDefaultState());
-                        world.setBlockState(pos, Blocks.AIR.getDefaultState());
-                    }
+        @Override
+        public void onRoundStart() {
+            DodgeboltGame.this.startRound(DodgeboltGame.this.server);
+        }
 
-                    this.stage = this.lastDesired;
-                    this.lastDesired = this.desired;
+        @Override
+        public void onPlayTick() {
+            int midZ = DodgeboltGame.this.arena.getMidZ();
+            for (ServerPlayerEntity player : DodgeboltGame.this.getAlive(DodgeboltGame.this.server)) {
+                Side side = Dodgebolt.DODGEBOLT_MANAGER.getRoster().getTeam(player) == DodgeboltGame.this.teamAlpha ? Side.ALPHA : Side.BETA;
+                double overshoot = side.getOvershoot(player.getZ(), midZ);
+                if (overshoot >= 0) {
+                    DodgeboltGame.this.hud.showTitle(player, RETURN_TITLE);
+                    player.damage(DamageSource.IN_WALL, DodgeboltRules.getHalfLinePenalty(overshoot));
+                    player.getInventory().remove(stack -> stack.isOf(Items.BOW), -1, player.playerScreenHandler.getCraftingInput());
                 } else {
-                    if (this.tick % FLASH_INTERVAL == 0) {
-                        ServerWorld world = server.getOverworld();
-                        for (BlockPos pos : calculatePerimeter(this.stage, this.lastDesired)) {
-                            BlockState state = this.getStateFromMap(pos);
-                            BlockPos carpetPos = pos.withY(11);
-                            if (state == null) {
-                                this.flipMap.put(pos, world.getBlockState(carpetPos));
-                                world.setBlockState(pos, Blocks.LAPIS_ORE.getDefaultState());
-                                world.setBlockState(carpetPos, Blocks.AIR.getDefaultState());
-                            } else {
-                                world.setBlockState(carpetPos, state);
-                                world.setBlockState(pos, Blocks.ICE.getDefaultState());
-                                this.removeFlipMapPos(pos);
-                            }
-                        }
+                    if (!player.getInventory().contains(ConventionalItemTags.BOWS)) {
+                        DodgeboltGame.this.setupInventory(player, false);
                     }
+                }
 
-                    this.tick++;
+                if (player.isInLava()) {
+                    player.kill();
                 }
-            } else {
-                if (this.lastDesired != this.desired) {
-                    this.lastDesired = this.desired;
-                    this.tick = 0;
+            }
+        }
 
-                    for (ServerPlayerEntity player : PlayerLookup.all(server)) {
-                        DodgeboltGame.this.playSound(player, "platform_decay");
-                    }
+        @Override
+        public void onRoundEnd(Side winner, boolean gameOver) {
+            DodgeboltRules rules = DodgeboltGame.this.rules;
+            DodgeboltGame.this.recorder.roundEnd(winner, rules.getScore(Side.ALPHA), rules.getScore(Side.BETA));
+
+            StatsStore stats = Dodgebolt.DODGEBOLT_MANAGER.getStats();
+            for (ServerPlayerEntity player : DodgeboltGame.this.getTeam(winner).getPlayers(DodgeboltGame.this.server)) {
+                stats.increment(player.getUuid(), StatType.ROUND_WINS);
+            }
+            if (gameOver) {
+                for (ServerPlayerEntity player : DodgeboltGame.this.getTeam(rules.getLeader()).getPlayers(DodgeboltGame.this.server)) {
+                    stats.increment(player.getUuid(), StatType.MATCH_WINS);
                 }
             }
+            DodgeboltGame.this.updateScore();
+            DodgeboltGame.this.endRound(DodgeboltGame.this.server, gameOver);
         }
 
-        public BlockState getStateFromMap(BlockPos pos) {
-            return this.flipMap.entrySet().stream().filter(createPredicate(pos)).map(Map.Entry::getValue).findAny().orElse(null);
+        @Override
+        public void onIntermissionTick() {
+            if (DodgeboltGame.this.repairer.isScanning()) {
+                ServerWorld world = DodgeboltGame.this.server.getOverworld();
+                BlockBatch batch = new BlockBatch(world);
+                DodgeboltGame.this.repairer.scan(world, batch, REPAIR_BUDGET_NANOS);
+                DodgeboltGame.this.tickBlocks += batch.apply(BlockBatch.UPDATE_LIGHT);
+            }
         }
 
-        public void removeFlipMapPos(BlockPos pos) {
-            this.flipMap.entrySet().removeIf(createPredicate(pos));
+        @Override
+        public void onNextRound() {
+            DodgeboltGame.this.triggerRound(DodgeboltGame.this.server);
         }
 
-        public Predicate<Map.Entry<BlockPos, BlockState>> createPredicate(BlockPos pos) {
-            return entry -> {
-                BlockPos xpos = entry.getKey();
-                return xpos.getX() == pos.getX() && xpos.getZ() == pos.getZ();
-            };
+        @Override
+        public void onGameOver() {
+            Dodgebolt.DODGEBOLT_MANAGER.tryEnd(DodgeboltGame.this.server, DodgeboltGame.this);
         }
 
-        public void add(int rows) {
-            this.desired = Math.min(this.desired + rows, 8);
+        @Override
+        public void onDecayWarning() {
+            BroadcastHelper.playSound(DodgeboltGame.this.getAudience(DodgeboltGame.this.server), DodgeboltSounds.PLATFORM_DECAY);
         }
 
-        public void queue() {
-            this.add(this.desired == 0 ? 2 : 1);
+        @Override
+        public void onDecayFlash(int from, int to) {
+            this.decay(from, to, false);
         }
 
-        public List<BlockPos> calculatePerimeter(int minx, int minz, int maxx, int maxz) {
-            List<BlockPos> list = new ArrayList<>();
-            for (int i = minx; i <= maxx; i++) {
-                this.add(list, i, minz);
-                this.add(list, i, maxz);
-            }
-            for (int i = minz; i <= maxz; i++) {
-                this.add(list, minx, i);
-                this.add(list, maxx, i);
-            }
+        @Override
+        public void onDecayRemove(int from, int to) {
+            this.decay(from, to, true);
+        }
+
+        private void decay(int from, int to, boolean remove) {
+            EdgeTickEvent event = new EdgeTickEvent();
+            event.begin();
+
+            ServerWorld world = DodgeboltGame.this.server.getOverworld();
+            EdgeManager edgeManager = DodgeboltGame.this.edgeManager;
+            int blocks = remove ? edgeManager.remove(world, from, to) : edgeManager.flash(world, from, to);
+            DodgeboltGame.this.tickBlocks += blocks;
+            DodgeboltGame.this.recorder.decay(from, to, remove);
 
-            return list;
+            if (event.shouldCommit()) {
+                event.arena = DodgeboltGame.this.arena.getIndex();
+                event.from = from;
+                event.to = to;
+                event.removal = remove;
+                event.blocks = blocks;
+                event.commit();
+            }
         }
+    }
+
+    public class EdgeManager {
+        private final DecayLayers layers;
 
-        public List<BlockPos> calculatePerimeter(int minx, int minz, int maxx, int maxz, int indent, int width) {
-            List<BlockPos> list = new ArrayList<>();
-            for (int i = indent; i < width; i++) {
-                List<BlockPos> ilist = calculatePerimeter(minx + i, minz + i, maxx - i, maxz - i);
-                for (BlockPos pos : ilist) {
-                    this.add(list, pos.getX(), pos.getZ());
+        /**
+         * The carpet lifted from each flashing position, indexed like {@link #layers}.
+         */
+        private final BlockState[][] flipStates;
+
+        public EdgeManager() {
+            this.layers = DodgeboltGame.this.arena.getDecayLayers();
+            this.flipStates = new BlockState[this.layers.getLayerCount()][];
+        }
+
+        /**
+         * Swaps the given layers between lifted and laid carpet.
+         *
+         * @return the number of blocks changed
+         */
+        public int flash(ServerWorld world, int from, int to) {
+            BlockBatch batch = new BlockBatch(world);
+            this.flash(world, batch, from, to);
+            return batch.apply(BlockBatch.SILENT);
+        }
+
+        /**
+         * Queues the swap of the given layers, reading lifted carpet from the given world.
+         */
+        public void flash(BlockView world, BlockBatch batch, int from, int to) {
+            int floorY = DodgeboltGame.this.arena.getFloorY();
+            BlockPos.Mutable carpetPos = new BlockPos.Mutable();
+            for (int layer = from; layer < to; layer++) {
+                long[] positions = this.layers.getLayer(layer);
+                BlockState[] states = this.getFlipStates(layer);
+                for (int i = 0; i < positions.length; i++) {
+                    long packed = positions[i];
+                    int x = PackedXZ.getX(packed);
+                    int z = PackedXZ.getZ(packed);
+                    BlockState state = states[i];
+                    if (state == null) {
+                        DodgeboltGame.this.repairer.markDirty(x, floorY + 1, z);
+                        DodgeboltGame.this.repairer.markDirty(x, floorY, z);
+                        states[i] = world.getBlockState(carpetPos.set(x, floorY + 1, z));
+                        batch.set(x, floorY, z, Blocks.LAPIS_ORE.getDefaultState());
+                        batch.set(x, floorY + 1, z, Blocks.AIR.getDefaultState());
+                        DodgeboltGame.this.iceBitmap.set(x, z, false);
+                    } else {
+                        batch.set(x, floorY + 1, z, state);
+                        batch.set(x, floorY, z, Blocks.ICE.getDefaultState());
+                        DodgeboltGame.this.iceBitmap.set(x, z, true);
+                        states[i] = null;
+                    }
                 }
             }
-            return list;
         }
 
-        public List<BlockPos> calculatePerimeter(int indent, int width) {
-            return calculatePerimeter(ARENA_MIN.getX(), ARENA_MIN.getZ(), ARENA_MAX.getX(), ARENA_MAX.getZ(), indent, width);
+        /**
+         * Removes the given layers from the floor.
+         *
+         * @return the number of blocks changed
+         */
+        public int remove(ServerWorld world, int from, int to) {
+            BlockBatch batch = new BlockBatch(world);
+            int floorY = DodgeboltGame.this.arena.getFloorY();
+            for (int layer = from; layer < to; layer++) {
+                for (long packed : this.layers.getLayer(layer)) {
+                    int x = PackedXZ.getX(packed);
+                    int z = PackedXZ.getZ(packed);
+                    batch.set(x, floorY + 1, z, Blocks.AIR.getDefaultState());
+                    batch.set(x, floorY, z, Blocks.AIR.getDefaultState());
+                    DodgeboltGame.this.iceBitmap.set(x, z, false);
+                    DodgeboltGame.this.repairer.markDirty(x, floorY + 1, z);
+                    DodgeboltGame.this.repairer.markDirty(x, floorY, z);
+                }
+
+                this.flipStates[layer] = null;
+            }
+
+            return batch.apply(BlockBatch.UPDATE_LIGHT);
         }
 
-        public void add(List<BlockPos> list, int x, int z) {
-            if (list.stream().noneMatch(posx -> posx.getX() == x && posx.getZ() == z)) {
-                list.add(new BlockPos(x, 10, z));
+        private BlockState[] getFlipStates(int layer) {
+            BlockState[] states = this.flipStates[layer];
+            if (states == null) {
+                states = new BlockState[this.layers.getLayer(layer).length];
+                this.flipStates[layer] = states;
             }
+
+            return states;
         }
     }
 }
@@ -1,24 +1,25 @@
 package dev.andante.dodgebolt.game;
 
+import dev.andante.dodgebolt.GameEntityAccess;
+import dev.andante.dodgebolt.eventlog.GameEventLog;
+import dev.andante.dodgebolt.jfr.EntityHookEvent;
+import dev.andante.dodgebolt.stats.StatsStore;
+import dev.andante.dodgebolt.util.ArenaSnapshotCache;
+import dev.andante.dodgebolt.util.ProcessedArenaCache;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityEvents;
 import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
 import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.PacketSender;
-import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.ItemEntity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
-import net.minecraft.entity.effect.StatusEffectInstance;
-import net.minecraft.entity.effect.StatusEffects;
-import net.minecraft.entity.player.HungerManager;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.projectile.ArrowEntity;
-import net.minecraft.particle.DustColorTransitionParticleEffect;
-import net.minecraft.particle.DustParticleEffect;
-import net.minecraft.particle.ParticleEffect;
-import net.minecraft.particle.ParticleTypes;
 import net.minecraft.scoreboard.AbstractTeam;
 import net.minecraft.scoreboard.Scoreboard;
 import net.minecraft.scoreboard.Team;
@@ -26,25 +27,78 @@ import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayNetworkHandler;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.WorldSavePath;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.hit.EntityHitResult;
 import net.minecraft.world.GameMode;
 import org.jetbrains.annotations.Nullable;
-import org.joml.Vector3f;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static dev.andante.dodgebolt.util.Constants.MAX_ARENAS;
 import static dev.andante.dodgebolt.util.Constants.SPAWN_POS;
 
 public class DodgeboltGameManager {
     private MinecraftServer server;
 
-    @Nullable
-    private DodgeboltGame game;
+    private final Arena[] arenas;
+    private final DodgeboltGame[] games;
+    private final Map<GameTeam, DodgeboltGame> gamesByTeam;
+    private final ProcessedArenaCache arenaCache;
+    private final ArenaSnapshotCache arenaSnapshots;
+    private final TeamRoster roster;
+    private final ArrowTrailEmitter arrowTrailEmitter;
+    private final PlayerHousekeeping housekeeping;
+    private final Matchmaker matchmaker;
+    private StatsStore stats;
+    private GameEventLog eventLog;
 
     public DodgeboltGameManager() {
-        ServerLifecycleEvents.SERVER_STARTING.register(server -> this.server = server);
+        this.arenas = new Arena[MAX_ARENAS];
+        for (int i = 0; i < MAX_ARENAS; i++) {
+            this.arenas[i] = new Arena(i);
+        }
+        this.games = new DodgeboltGame[MAX_ARENAS];
+        this.gamesByTeam = new EnumMap<>(GameTeam.class);
+        this.arenaCache = new ProcessedArenaCache();
+        this.arenaSnapshots = new ArenaSnapshotCache(MAX_ARENAS);
+        this.roster = new TeamRoster();
+        this.arrowTrailEmitter = new ArrowTrailEmitter();
+        this.housekeeping = new PlayerHousekeeping(this);
+        this.matchmaker = new Matchmaker(this);
+        this.roster.setListener(new TeamRoster.Listener() {
+            @Override
+            public void onTeamJoin(ServerPlayerEntity player, GameTeam team) {
+                DodgeboltGameManager.this.housekeeping.markDirty(player);
+                DodgeboltGameManager.this.matchmaker.onTeamJoin(team);
+                DodgeboltGame game = DodgeboltGameManager.this.getGame(team);
+                if (game != null) {
+                    DodgeboltGameManager.this.matchmaker.leave(player);
+                    game.onTeamJoin(player, team);
+                }
+            }
+
+            @Override
+            public void onTeamLeave(ServerPlayerEntity player, GameTeam team) {
+                DodgeboltGameManager.this.housekeeping.markDirty(player);
+                DodgeboltGame game = DodgeboltGameManager.this.getGame(team);
+                if (game != null) {
+                    game.onTeamLeave(player, team);
+                }
+            }
+        });
+
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> {
+            this.server = server;
+            this.eventLog = GameEventLog.start(FabricLoader.getInstance().getGameDir().resolve("logs").resolve("dodgebolt-events.jsonl"));
+        });
         ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+            this.stats = StatsStore.open(server.getSavePath(WorldSavePath.ROOT).resolve("dodgebolt_stats"));
+
             Scoreboard scoreboard = server.getScoreboard();
             for (GameTeam gameTeam : GameTeam.values()) {
                 String id = gameTeam.name();
@@ -54,45 +108,69 @@ public class DodgeboltGameManager {
                 team.setColor(gameTeam.getFormattingColor());
             }
         });
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            this.arenaCache.clear();
+            this.arenaSnapshots.clear();
+        });
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
+            // end running games before statistics close, so the disconnects that follow have no game to count towards,
+            // and wait for their replays as nothing keeps the process alive for the writer threads
+            List<DodgeboltGame> running = new ArrayList<>();
+            for (DodgeboltGame game : this.games) {
+                if (game != null) {
+                    running.add(game);
+                }
+            }
+
+            this.tryEnd(server);
+            running.forEach(DodgeboltGame::awaitReplay);
+
+            // not opened if the server failed to start
+            if (this.stats != null) {
+                this.stats.close();
+            }
+        });
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            this.arenaCache.clear();
+            this.arenaSnapshots.clear();
+            this.eventLog.close();
+        });
         ServerTickEvents.END_SERVER_TICK.register(this::tick);
+        ServerLivingEntityEvents.ALLOW_DAMAGE.register(this::onDamage);
         ServerLivingEntityEvents.ALLOW_DEATH.register(this::onDeath);
+        ServerPlayerEvents.AFTER_RESPAWN.register(this.roster::onRespawn);
         ServerPlayerEvents.AFTER_RESPAWN.register(this::onRespawn);
+        ServerPlayConnectionEvents.JOIN.register(this.roster::onJoin);
         ServerPlayConnectionEvents.JOIN.register(this::onJoin);
+        // games still see the disconnecting player on their roster
         ServerPlayConnectionEvents.DISCONNECT.register(this::onDisconnect);
+        ServerPlayConnectionEvents.DISCONNECT.register(this.roster::onDisconnect);
+        ServerEntityEvents.ENTITY_LOAD.register(this::onEntityLoad);
+        ServerEntityEvents.ENTITY_UNLOAD.register(this::onEntityUnload);
     }
 
     protected void tick(MinecraftServer server) {
-        for (ServerPlayerEntity player : PlayerLookup.all(server)) {
-            HungerManager hungerManager = player.getHungerManager();
-            hungerManager.setFoodLevel(20);
-
-            player.setFireTicks(0);
-            player.setOnFire(false);
-            player.addStatusEffect(new StatusEffectInstance(StatusEffects.HUNGER, Integer.MAX_VALUE, 0, false, false));
-
-            if (this.game == null && player.isAlive()) {
-                player.setHealth(player.getMaxHealth());
-            }
-
-            AbstractTeam team = player.getScoreboardTeam();
-            if (team == null) {
-                server.getScoreboard().addPlayerToTeam(player.getEntityName(), (player.hasPermissionLevel(2) ? GameTeam.ADMIN : GameTeam.SPECTATOR).getTeam(server));
-            }
-        }
+        this.arrowTrailEmitter.tick();
+        this.housekeeping.tick(server);
+        this.matchmaker.tick(server);
 
-        if (this.game != null) {
-            try {
-                this.game.tick(server);
-            } catch (Exception exception) {
-                exception.printStackTrace();
+        for (DodgeboltGame game : this.games) {
+            if (game != null) {
+                try {
+                    game.tick(server);
+                } catch (Exception exception) {
+                    exception.printStackTrace();
+                }
             }
         }
     }
 
     protected void onJoin(ServerPlayNetworkHandler handler, PacketSender sender, MinecraftServer server) {
         ServerPlayerEntity player = handler.player;
-        if (this.game != null) {
-            this.game.onJoin(player, handler, sender, server);
+        this.housekeeping.markDirty(player);
+        DodgeboltGame game = this.getGame(player);
+        if (game != null) {
+            game.onJoin(player, handler, sender, server);
         } else {
             player.teleport(server.getOverworld(), SPAWN_POS.getX(), SPAWN_POS.getY(), SPAWN_POS.getZ(), 0.0F, 0.0F);
             player.getInventory().clear();
@@ -101,87 +179,245 @@ public class DodgeboltGameManager {
     }
 
     protected void onDisconnect(ServerPlayNetworkHandler handler, MinecraftServer server) {
-        if (this.game != null) {
-            this.game.onDisconnect(handler, server);
+        this.housekeeping.remove(handler.player);
+        this.matchmaker.leave(handler.player);
+        DodgeboltGame game = this.getGame(handler.player);
+        if (game != null) {
+            game.onDisconnect(handler, server);
         }
     }
 
+    protected boolean onDamage(LivingEntity entity, DamageSource source, float amount) {
+        if (entity instanceof ServerPlayerEntity player) {
+            this.housekeeping.markDirty(player);
+        }
+
+        return true;
+    }
+
     protected boolean onDeath(LivingEntity entity, DamageSource source, float amount) {
-        if (this.game != null && entity instanceof ServerPlayerEntity player) {
-            this.game.onDeath(player, source, amount);
+        if (entity instanceof ServerPlayerEntity player) {
+            DodgeboltGame game = this.getGame(player);
+            if (game != null) {
+                game.onDeath(player, source, amount);
+            }
         }
 
         return true;
     }
 
     protected void onRespawn(ServerPlayerEntity oldPlayer, ServerPlayerEntity player, boolean alive) {
-        if (this.game != null) {
-            this.game.onRespawn(oldPlayer, player, alive);
+        this.housekeeping.remove(oldPlayer);
+        this.housekeeping.markDirty(player);
+        DodgeboltGame game = this.getGame(player);
+        if (game != null) {
+            game.onRespawn(oldPlayer, player, alive);
+        }
+    }
+
+    protected void onEntityLoad(Entity entity, ServerWorld world) {
+        if (entity instanceof ArrowEntity || entity instanceof ItemEntity) {
+            DodgeboltGame game = null;
+            if (entity instanceof ArrowEntity arrow && arrow.getOwner() instanceof PlayerEntity owner) {
+                game = this.getGame(owner);
+            }
+
+            if (game == null) {
+                game = this.getGameAt(entity);
+            }
+
+            if (game != null) {
+                game.getEntities().add(entity);
+            }
+        }
+    }
+
+    protected void onEntityUnload(Entity entity, ServerWorld world) {
+        DodgeboltGame game = getRegisteredGame(entity);
+        if (game != null) {
+            game.getEntities().remove(entity);
         }
     }
 
     public boolean tryStart(MinecraftServer server, GameTeam alpha, GameTeam beta) {
-        if (this.game != null) {
+        if (alpha == beta || this.gamesByTeam.containsKey(alpha) || this.gamesByTeam.containsKey(beta)) {
             return false;
         }
 
-        this.game = new DodgeboltGame(alpha, beta);
-        this.game.initialize(server);
-        return true;
+        for (int i = 0; i < this.games.length; i++) {
+            if (this.games[i] == null) {
+                DodgeboltGame game = new DodgeboltGame(this.arenas[i], alpha, beta);
+                this.games[i] = game;
+                this.gamesByTeam.put(alpha, game);
+                this.gamesByTeam.put(beta, game);
+
+                // players who queued before being put on a team by hand would otherwise be matched while playing
+                for (GameTeam team : List.of(alpha, beta)) {
+                    for (ServerPlayerEntity player : this.roster.getPlayers(team)) {
+                        this.matchmaker.leave(player);
+                    }
+                }
+
+                game.initialize(server);
+                return true;
+            }
+        }
+
+        return false;
     }
 
+    public boolean hasFreeArena() {
+        for (DodgeboltGame game : this.games) {
+            if (game == null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Ends every running game.
+     */
     public boolean tryEnd(MinecraftServer server) {
-        if (this.game == null) {
+        boolean ended = false;
+        for (DodgeboltGame game : this.games) {
+            if (game != null) {
+                ended |= this.tryEnd(server, game);
+            }
+        }
+
+        return ended;
+    }
+
+    public boolean tryEnd(MinecraftServer server, DodgeboltGame game) {
+        int index = game.getArena().getIndex();
+        if (this.games[index] != game) {
             return false;
         }
 
-        this.game.terminate(server);
-        this.game = null;
+        this.games[index] = null;
+        this.gamesByTeam.remove(game.getTeamAlpha());
+        this.gamesByTeam.remove(game.getTeamBeta());
+        game.terminate(server);
+
+        // players of the game are now idle
+        this.housekeeping.markDirty(this.roster.getPlayers(game.getTeamAlpha()));
+        this.housekeeping.markDirty(this.roster.getPlayers(game.getTeamBeta()));
         return true;
     }
 
+    @Nullable
+    public DodgeboltGame getGame(GameTeam team) {
+        return team == null ? null : this.gamesByTeam.get(team);
+    }
+
+    @Nullable
+    public DodgeboltGame getGame(PlayerEntity player) {
+        return this.getGame(GameTeam.of(player.getScoreboardTeam()));
+    }
+
+    /**
+     * @return the game an arrow or item entity was registered to
+     */
+    @Nullable
+    public static DodgeboltGame getRegisteredGame(Entity entity) {
+        return ((GameEntityAccess) entity).getGame();
+    }
+
+    @Nullable
+    public DodgeboltGame getGameAt(Entity entity) {
+        int index = Arena.getIndexAt(entity.getX(), entity.getZ());
+        return index == -1 ? null : this.games[index];
+    }
+
+    /**
+     * @return whether the given player is playing in or watching any game
+     */
+    public boolean isOccupied(ServerPlayerEntity player) {
+        return this.getGame(player) != null || this.getGameAt(player) != null;
+    }
+
     public MinecraftServer getServer() {
         return this.server;
     }
 
+    public TeamRoster getRoster() {
+        return this.roster;
+    }
+
+    public Matchmaker getMatchmaker() {
+        return this.matchmaker;
+    }
+
+    public PlayerHousekeeping getHousekeeping() {
+        return this.housekeeping;
+    }
+
+    public ProcessedArenaCache getArenaCache() {
+        return this.arenaCache;
+    }
+
+    public ArenaSnapshotCache getArenaSnapshots() {
+        return this.arenaSnapshots;
+    }
+
+    public StatsStore getStats() {
+        return this.stats;
+    }
+
+    public GameEventLog getEventLog() {
+        return this.eventLog;
+    }
+
     public void onArrowTick(ArrowEntity entity) {
-        if (entity.world instanceof ServerWorld world) {
-            if (entity.getOwner() instanceof PlayerEntity player) {
-                int color = player.getTeamColorValue();
-                float r = ((color >> 16) & 0xFF) / 255F;
-                float g = ((color >> 8) & 0xFF) / 255F;
-                float b = ((color) & 0xFF) / 255F;
-                ParticleEffect particleEffect = new DustParticleEffect(new Vector3f(r, g, b), 1.0F);
-                world.spawnParticles(particleEffect, entity.getX(), entity.getY(), entity.getZ(), 1, 0.0D, 0.0D, 0.0D, 0.0D);
-            } else {
-                world.spawnParticles(ParticleTypes.ELECTRIC_SPARK, entity.getX(), entity.getY(), entity.getZ(), 1, 0.0D, 0.0D, 0.0D, 0.0D);
-            }
+        DodgeboltGame game = getRegisteredGame(entity);
+        if (game != null) {
+            EntityHookEvent event = new EntityHookEvent();
+            event.begin();
+            this.arrowTrailEmitter.emit(entity);
+            entity.setGlowing(true);
+            EntityHookEvent.commit(event, EntityHookEvent.ARROW_TICK, game, entity);
         }
-
-        entity.setGlowing(true);
     }
 
     public void onHitBlock(ArrowEntity entity, BlockHitResult hit) {
-        if (this.game != null) {
-            this.game.onHitBlock(entity, hit);
+        DodgeboltGame game = getRegisteredGame(entity);
+        if (game != null) {
+            EntityHookEvent event = new EntityHookEvent();
+            event.begin();
+            game.onHitBlock(entity, hit);
+            EntityHookEvent.commit(event, EntityHookEvent.HIT_BLOCK, game, entity);
         }
     }
 
     public void onHitEntity(ArrowEntity entity, EntityHitResult hit) {
-        if (this.game != null) {
-            this.game.onHitEntity(entity, hit);
+        DodgeboltGame game = getRegisteredGame(entity);
+        if (game != null) {
+            EntityHookEvent event = new EntityHookEvent();
+            event.begin();
+            game.onHitEntity(entity, hit);
+            EntityHookEvent.commit(event, EntityHookEvent.HIT_ENTITY, game, entity);
         }
     }
 
     public void onArrowItemDestroyed(ItemEntity entity) {
-        if (this.game != null) {
-            this.game.onArrowItemDestroyed(entity);
+        DodgeboltGame game = getRegisteredGame(entity);
+        if (game != null) {
+            EntityHookEvent event = new EntityHookEvent();
+            event.begin();
+            game.onArrowItemDestroyed(entity);
+            EntityHookEvent.commit(event, EntityHookEvent.ARROW_ITEM_DESTROYED, game, entity);
         }
     }
 
     public void onItemTick(ItemEntity entity) {
-        if (this.game != null) {
-            this.game.onItemTick(entity);
+        DodgeboltGame game = getRegisteredGame(entity);
+        if (game != null) {
+            EntityHookEvent event = new EntityHookEvent();
+            event.begin();
+            game.onItemTick(entity);
+            EntityHookEvent.commit(event, EntityHookEvent.ITEM_TICK, game, entity);
         }
     }
 }
@@ -0,0 +1,59 @@
+package dev.andante.dodgebolt.game;
+
+import dev.andante.dodgebolt.GameEntityAccess;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.Entity;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The arrows and items belonging to a game, each of which points back to the game through {@link GameEntityAccess}.
+ */
+public class GameEntities {
+    private final DodgeboltGame game;
+    private final Set<Entity> entities;
+
+    public GameEntities(DodgeboltGame game) {
+        this.game = game;
+        this.entities = new ReferenceOpenHashSet<>();
+    }
+
+    public void add(Entity entity) {
+        if (this.entities.add(entity)) {
+            ((GameEntityAccess) entity).setGame(this.game);
+        }
+    }
+
+    public void remove(Entity entity) {
+        if (this.entities.remove(entity)) {
+            ((GameEntityAccess) entity).setGame(null);
+        }
+    }
+
+    /**
+     * Discards every entity of the game.
+     *
+     * @return the number of entities discarded
+     */
+    public int discardAll() {
+        List<Entity> entities = List.copyOf(this.entities);
+        this.release();
+        entities.forEach(Entity::discard);
+        return entities.size();
+    }
+
+    /**
+     * Detaches every entity from the game without discarding them.
+     */
+    public void release() {
+        for (Entity entity : this.entities) {
+            ((GameEntityAccess) entity).setGame(null);
+        }
+        this.entities.clear();
+    }
+
+    public int size() {
+        return this.entities.size();
+    }
+}
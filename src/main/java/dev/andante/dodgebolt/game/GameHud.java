@@ -0,0 +1,148 @@
+package dev.andante.dodgebolt.game;
+
+import net.minecraft.network.packet.s2c.play.ClearTitleS2CPacket;
+import net.minecraft.network.packet.s2c.play.GameMessageS2CPacket;
+import net.minecraft.network.packet.s2c.play.SubtitleS2CPacket;
+import net.minecraft.network.packet.s2c.play.TitleFadeS2CPacket;
+import net.minecraft.network.packet.s2c.play.TitleS2CPacket;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Holds the desired action bar and title of every viewer of a game, sending packets only when what they
+ * see changes or has to be kept from fading out.
+ */
+public class GameHud {
+    /**
+     * Ticks between resending an unchanged action bar, which fades after three seconds on the client.
+     */
+    public static final int ACTION_BAR_KEEP_ALIVE = 40;
+
+    private final Map<UUID, Viewer> viewers;
+
+    @Nullable
+    private GameMessageS2CPacket actionBar;
+    private int actionBarVersion;
+    private int tick;
+
+    public GameHud() {
+        this.viewers = new HashMap<>();
+    }
+
+    public void setActionBar(Text text) {
+        this.actionBar = new GameMessageS2CPacket(text, true);
+        this.actionBarVersion++;
+    }
+
+    /**
+     * Shows a title to a player for the current tick. A title that is not shown again on the next tick is cleared.
+     */
+    public void showTitle(ServerPlayerEntity player, Title title) {
+        Viewer viewer = this.getViewer(player);
+        viewer.title = title;
+        viewer.titleShownTick = this.tick;
+    }
+
+    /**
+     * Forgets every shown title without clearing it, for when another title has replaced them on the client.
+     */
+    public void resetTitles() {
+        for (Viewer viewer : this.viewers.values()) {
+            viewer.title = null;
+            viewer.sentTitle = null;
+        }
+    }
+
+    public void remove(ServerPlayerEntity player) {
+        this.viewers.remove(player.getUuid());
+    }
+
+    /**
+     * Sends what changed to the given audience, and forgets every viewer not in it.
+     */
+    public void tick(Iterable<ServerPlayerEntity> audience) {
+        int seen = 0;
+        for (ServerPlayerEntity player : audience) {
+            Viewer viewer = this.getViewer(player);
+            if (viewer.seenTick != this.tick) {
+                viewer.seenTick = this.tick;
+                seen++;
+            }
+
+            ServerPlayNetworkHandler handler = player.networkHandler;
+
+            if (this.actionBar != null && (viewer.actionBarVersion != this.actionBarVersion || this.tick - viewer.actionBarTick >= ACTION_BAR_KEEP_ALIVE)) {
+                handler.sendPacket(this.actionBar);
+                viewer.actionBarVersion = this.actionBarVersion;
+                viewer.actionBarTick = this.tick;
+            }
+
+            Title title = viewer.titleShownTick == this.tick ? viewer.title : null;
+            if (title != viewer.sentTitle) {
+                if (title == null) {
+                    handler.sendPacket(new ClearTitleS2CPacket(false));
+                } else {
+                    title.send(handler);
+                    viewer.titleTick = this.tick;
+                }
+
+                viewer.sentTitle = title;
+            } else if (title != null && this.tick - viewer.titleTick >= title.keepAlive()) {
+                title.send(handler);
+                viewer.titleTick = this.tick;
+            }
+        }
+
+        if (this.viewers.size() > seen) {
+            for (Iterator<Viewer> iterator = this.viewers.values().iterator(); iterator.hasNext(); ) {
+                if (iterator.next().seenTick != this.tick) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        this.tick++;
+    }
+
+    private Viewer getViewer(ServerPlayerEntity player) {
+        return this.viewers.computeIfAbsent(player.getUuid(), uuid -> new Viewer());
+    }
+
+    /**
+     * A title with its packets built once, shared by every viewer.
+     */
+    public record Title(TitleFadeS2CPacket times, TitleS2CPacket title, SubtitleS2CPacket subtitle, int keepAlive) {
+        /**
+         * @param stay the ticks the title stays on screen, which it is resent before running out
+         */
+        public static Title of(Text title, Text subtitle, int stay) {
+            return new Title(new TitleFadeS2CPacket(0, stay, 0), new TitleS2CPacket(title), new SubtitleS2CPacket(subtitle), Math.max(1, stay - 5));
+        }
+
+        public void send(ServerPlayNetworkHandler handler) {
+            handler.sendPacket(this.times);
+            handler.sendPacket(this.title);
+            handler.sendPacket(this.subtitle);
+        }
+    }
+
+    private static class Viewer {
+        private int seenTick = -1;
+        private int actionBarVersion = -1;
+        private int actionBarTick;
+
+        @Nullable
+        private Title title;
+        private int titleShownTick = -1;
+        @Nullable
+        private Title sentTitle;
+        private int titleTick;
+    }
+}
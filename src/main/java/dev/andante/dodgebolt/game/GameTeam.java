@@ -2,10 +2,10 @@ package dev.andante.dodgebolt.game;
 
 import com.mojang.datafixers.util.Pair;
 import dev.andante.dodgebolt.Dodgebolt;
-import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import dev.andante.dodgebolt.GameTeamAccess;
 import net.minecraft.block.Block;
 import net.minecraft.block.Blocks;
-import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.particle.DustParticleEffect;
 import net.minecraft.scoreboard.AbstractTeam;
 import net.minecraft.scoreboard.ServerScoreboard;
 import net.minecraft.scoreboard.Team;
@@ -15,11 +15,15 @@ import net.minecraft.util.Formatting;
 import net.minecraft.util.StringIdentifiable;
 import net.minecraft.util.math.random.Random;
 import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3f;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.function.BiConsumer;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public enum GameTeam implements StringIdentifiable {
     RED(new BlockData(Blocks.RED_CONCRETE, Blocks.RED_CARPET), 0xFC5453, Formatting.RED),
@@ -35,14 +39,21 @@ public enum GameTeam implements StringIdentifiable {
     SPECTATOR(null, 0xA7A7A7, Formatting.GRAY),
     ADMIN(null, 0xE63B3B, Formatting.DARK_RED);
 
+    private static final Map<String, GameTeam> BY_NAME = Arrays.stream(values()).collect(Collectors.toMap(GameTeam::name, Function.identity()));
+
     private final BlockData blockData;
     private final int color;
     private final Formatting formatting;
+    private final DustParticleEffect particleEffect;
 
+    @SuppressWarnings("DataFlowIssue")
     GameTeam(BlockData blockData, int color, Formatting formatting) {
         this.blockData = blockData;
         this.color = color;
         this.formatting = formatting;
+
+        int particleColor = formatting.getColorValue();
+        this.particleEffect = new DustParticleEffect(new Vector3f(((particleColor >> 16) & 0xFF) / 255F, ((particleColor >> 8) & 0xFF) / 255F, (particleColor & 0xFF) / 255F), 1.0F);
     }
 
     public BlockData getBlockData() {
@@ -57,6 +68,13 @@ public enum GameTeam implements StringIdentifiable {
         return this.formatting;
     }
 
+    /**
+     * @return the arrow trail particle in the colour of this team on the scoreboard
+     */
+    public DustParticleEffect getParticleEffect() {
+        return this.particleEffect;
+    }
+
     public Team getTeam(MinecraftServer server) {
         ServerScoreboard scoreboard = server.getScoreboard();
         Team team = scoreboard.getTeam(this.name());
@@ -68,23 +86,18 @@ public enum GameTeam implements StringIdentifiable {
     }
 
     public List<String> getOfflinePlayers(MinecraftServer server) {
-        ServerScoreboard scoreboard = server.getScoreboard();
-        Team team = this.getTeam(server);
-        List<String> online = new ArrayList<>(PlayerLookup.all(server).stream().map(PlayerEntity::getEntityName).toList());
-        List<String> players = new ArrayList<>(team.getPlayerList());
-        players.removeAll(online);
+        TeamRoster roster = Dodgebolt.DODGEBOLT_MANAGER.getRoster();
+        List<String> players = new ArrayList<>(this.getTeam(server).getPlayerList());
+        players.removeIf(name -> roster.getPlayer(name) != null);
         return players;
     }
 
-    public List<ServerPlayerEntity> getPlayers(MinecraftServer server) {
-        return PlayerLookup.all(server)
-                           .stream()
-                           .filter(playerx -> of(playerx.getScoreboardTeam()) == this)
-                           .toList();
+    public Set<ServerPlayerEntity> getPlayers(MinecraftServer server) {
+        return this.getPlayers();
     }
 
-    public List<ServerPlayerEntity> getPlayers() {
-        return this.getPlayers(Dodgebolt.DODGEBOLT_MANAGER.getServer());
+    public Set<ServerPlayerEntity> getPlayers() {
+        return Dodgebolt.DODGEBOLT_MANAGER.getRoster().getPlayers(this);
     }
 
     @Nullable
@@ -99,13 +112,16 @@ public enum GameTeam implements StringIdentifiable {
             return null;
         }
 
-        String id = team.getName();
-        try {
-            return GameTeam.valueOf(id);
-        } catch (IllegalArgumentException ignored) {
+        if (team instanceof GameTeamAccess access) {
+            return access.getGameTeam();
         }
 
-        return null;
+        return byName(team.getName());
+    }
+
+    @Nullable
+    public static GameTeam byName(String name) {
+        return BY_NAME.get(name);
     }
 
     public static Pair<GameTeam, GameTeam> getRandomPair() {
@@ -116,15 +132,6 @@ public enum GameTeam implements StringIdentifiable {
         return Pair.of(first, teams.get(random.nextInt(teams.size())));
     }
 
-    public static void forEachTeamPair(BiConsumer<GameTeam, GameTeam> action) {
-        GameTeam[] values = teamValues();
-        for (GameTeam first : values) {
-            for (GameTeam second : values) {
-                action.accept(first, second);
-            }
-        }
-    }
-
     public static GameTeam[] teamValues() {
         return Arrays.stream(values()).filter(team -> team.blockData != null).toArray(GameTeam[]::new);
     }
@@ -0,0 +1,77 @@
+package dev.andante.dodgebolt.game;
+
+import dev.andante.dodgebolt.util.ProcessedArena;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * A bitmap of which floor cells of an arena are ice, so that item timers never have to look up block states.
+ */
+public class IceBitmap {
+    private final int minX, minZ;
+    private final int width, depth;
+    private final int floorY;
+
+    private final long[] base;
+    private final long[] bits;
+
+    public IceBitmap(Arena arena, ProcessedArena expected) {
+        BlockPos min = arena.getMin();
+        BlockPos max = arena.getMax();
+        this.minX = min.getX();
+        this.minZ = min.getZ();
+        this.width = max.getX() - this.minX + 1;
+        this.depth = max.getZ() - this.minZ + 1;
+        this.floorY = arena.getFloorY();
+
+        this.base = new long[(this.width * this.depth + 63) >> 6];
+        this.bits = new long[this.base.length];
+
+        BlockPos origin = arena.getStructurePos();
+        for (int dz = 0; dz < this.depth; dz++) {
+            for (int dx = 0; dx < this.width; dx++) {
+                BlockState state = expected.getExpected(this.minX + dx - origin.getX(), this.floorY - origin.getY(), this.minZ + dz - origin.getZ());
+                if (state != null && state.isOf(Blocks.ICE)) {
+                    int i = dx + dz * this.width;
+                    this.base[i >> 6] |= 1L << i;
+                }
+            }
+        }
+
+        this.reset();
+    }
+
+    /**
+     * Restores the bitmap to the freshly placed arena.
+     */
+    public void reset() {
+        System.arraycopy(this.base, 0, this.bits, 0, this.base.length);
+    }
+
+    public void set(int x, int z, boolean ice) {
+        int i = this.getIndex(x, z);
+        if (i != -1) {
+            if (ice) {
+                this.bits[i >> 6] |= 1L << i;
+            } else {
+                this.bits[i >> 6] &= ~(1L << i);
+            }
+        }
+    }
+
+    public boolean isIce(int x, int y, int z) {
+        if (y != this.floorY) {
+            return false;
+        }
+
+        int i = this.getIndex(x, z);
+        return i != -1 && (this.bits[i >> 6] & (1L << i)) != 0;
+    }
+
+    private int getIndex(int x, int z) {
+        int dx = x - this.minX;
+        int dz = z - this.minZ;
+        return dx < 0 || dz < 0 || dx >= this.width || dz >= this.depth ? -1 : dx + dz * this.width;
+    }
+}
@@ -0,0 +1,153 @@
+package dev.andante.dodgebolt.game;
+
+import dev.andante.dodgebolt.matchmaking.MatchQueue;
+import dev.andante.dodgebolt.stats.PlayerStats;
+import dev.andante.dodgebolt.stats.StatType;
+import net.minecraft.scoreboard.ServerScoreboard;
+import net.minecraft.scoreboard.Team;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.PlayerManager;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Groups queued players into balanced matches and starts them as soon as an arena and two teams are free.
+ */
+public class Matchmaker {
+    public static final int PLAYERS_PER_TEAM = 4;
+    public static final int DEFAULT_RATING = 1000;
+    public static final int BASE_WINDOW = 50;
+    public static final int WINDOW_GROWTH = 1;
+
+    private final DodgeboltGameManager manager;
+    private final MatchQueue queue;
+    private final Set<GameTeam> reserved;
+    private boolean assigning;
+
+    public Matchmaker(DodgeboltGameManager manager) {
+        this.manager = manager;
+        this.queue = new MatchQueue(PLAYERS_PER_TEAM, BASE_WINDOW, WINDOW_GROWTH);
+        this.reserved = EnumSet.noneOf(GameTeam.class);
+    }
+
+    /**
+     * A player without statistics has the default rating. Every match won is worth the most,
+     * while kills and deaths only nudge the rating.
+     */
+    public static int getRating(PlayerStats stats) {
+        return DEFAULT_RATING + stats.get(StatType.MATCH_WINS) * 20 + stats.get(StatType.ROUND_WINS) * 5 + (stats.get(StatType.KILLS) - stats.get(StatType.DEATHS)) * 2;
+    }
+
+    public boolean join(ServerPlayerEntity player, int tick) {
+        if (this.manager.getGame(player) != null) {
+            return false;
+        }
+
+        return this.queue.add(player.getUuid(), getRating(this.manager.getStats().get(player.getUuid())), tick);
+    }
+
+    public boolean leave(ServerPlayerEntity player) {
+        return this.queue.remove(player.getUuid());
+    }
+
+    public boolean isQueued(ServerPlayerEntity player) {
+        return this.queue.contains(player.getUuid());
+    }
+
+    public int size() {
+        return this.queue.size();
+    }
+
+    /**
+     * Anyone put on a colour by other means, such as by {@code /randomiseteams}, hands the colour back to them.
+     */
+    public void onTeamJoin(GameTeam team) {
+        if (!this.assigning) {
+            this.reserved.remove(team);
+        }
+    }
+
+    public void tick(MinecraftServer server) {
+        if (this.queue.size() < PLAYERS_PER_TEAM * 2 || !this.manager.hasFreeArena()) {
+            return;
+        }
+
+        GameTeam alpha = this.findFreeTeam(null);
+        GameTeam beta = this.findFreeTeam(alpha);
+        if (alpha == null || beta == null) {
+            return;
+        }
+
+        MatchQueue.Match match = this.queue.poll(server.getTicks());
+        if (match == null) {
+            return;
+        }
+
+        // leftover members of our own earlier matches watch instead
+        ServerScoreboard scoreboard = server.getScoreboard();
+        Team spectators = GameTeam.SPECTATOR.getTeam(server);
+        for (GameTeam team : List.of(alpha, beta)) {
+            for (ServerPlayerEntity player : new ArrayList<>(this.manager.getRoster().getPlayers(team))) {
+                scoreboard.addPlayerToTeam(player.getEntityName(), spectators);
+            }
+        }
+
+        this.reserved.add(alpha);
+        this.reserved.add(beta);
+        this.assigning = true;
+        try {
+            this.assign(server, match.alpha(), alpha);
+            this.assign(server, match.beta(), beta);
+        } finally {
+            this.assigning = false;
+        }
+        this.manager.tryStart(server, alpha, beta);
+    }
+
+    /**
+     * A colour is free when it is not playing and either nobody is on it or only players from an earlier match of ours,
+     * so teams set up by hand are never broken up.
+     */
+    @Nullable
+    private GameTeam findFreeTeam(@Nullable GameTeam except) {
+        for (GameTeam team : GameTeam.teamValues()) {
+            if (team == except || this.manager.getGame(team) != null) {
+                continue;
+            }
+
+            if (this.manager.getRoster().getPlayers(team).isEmpty()) {
+                this.reserved.remove(team);
+                return team;
+            }
+
+            if (this.reserved.contains(team)) {
+                return team;
+            }
+        }
+
+        return null;
+    }
+
+    private void assign(MinecraftServer server, List<UUID> players, GameTeam gameTeam) {
+        PlayerManager playerManager = server.getPlayerManager();
+        ServerScoreboard scoreboard = server.getScoreboard();
+        Team team = gameTeam.getTeam(server);
+        Text text = Text.literal("Match found! You are playing for ").formatted(Formatting.GRAY).append(Text.literal(gameTeam.name()).formatted(gameTeam.getFormattingColor()));
+        for (UUID uuid : players) {
+            ServerPlayerEntity player = playerManager.getPlayer(uuid);
+            // anyone who started playing since they queued keeps their team
+            if (player != null && this.manager.getGame(player) == null) {
+                scoreboard.addPlayerToTeam(player.getEntityName(), team);
+                player.sendMessage(text);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dev.andante.dodgebolt.game;
+
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.entity.effect.StatusEffects;
+import net.minecraft.entity.player.HungerManager;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.Set;
+
+/**
+ * Keeps every online player fed, unburnt, on a team and, outside of games, at full health.
+ * Players are only checked after something that can break those invariants has happened to them.
+ */
+public class PlayerHousekeeping {
+    /**
+     * Ticks between checks of every player, for changes no event reports, such as a removed team.
+     */
+    public static final int SWEEP_INTERVAL = 200;
+
+    private final DodgeboltGameManager manager;
+    private final Set<ServerPlayerEntity> dirty;
+
+    public PlayerHousekeeping(DodgeboltGameManager manager) {
+        this.manager = manager;
+        this.dirty = new ReferenceLinkedOpenHashSet<>();
+    }
+
+    public void markDirty(ServerPlayerEntity player) {
+        this.dirty.add(player);
+    }
+
+    public void markDirty(Iterable<ServerPlayerEntity> players) {
+        for (ServerPlayerEntity player : players) {
+            this.dirty.add(player);
+        }
+    }
+
+    public void remove(ServerPlayerEntity player) {
+        this.dirty.remove(player);
+    }
+
+    public void tick(MinecraftServer server) {
+        if (server.getTicks() % SWEEP_INTERVAL == 0) {
+            this.markDirty(PlayerLookup.all(server));
+        }
+
+        if (this.dirty.isEmpty()) {
+            return;
+        }
+
+        // fixing a player can mark them again, such as when assigning a team
+        ServerPlayerEntity[] players = this.dirty.toArray(new ServerPlayerEntity[0]);
+        this.dirty.clear();
+        for (ServerPlayerEntity player : players) {
+            if (!player.isRemoved()) {
+                this.apply(server, player);
+            }
+        }
+    }
+
+    private void apply(MinecraftServer server, ServerPlayerEntity player) {
+        HungerManager hungerManager = player.getHungerManager();
+        if (hungerManager.getFoodLevel() < 20) {
+            hungerManager.setFoodLevel(20);
+        }
+
+        if (player.getFireTicks() > 0 || player.isOnFire()) {
+            player.setFireTicks(0);
+            player.setOnFire(false);
+        }
+
+        if (!player.hasStatusEffect(StatusEffects.HUNGER)) {
+            player.addStatusEffect(new StatusEffectInstance(StatusEffects.HUNGER, Integer.MAX_VALUE, 0, false, false));
+        }
+
+        if (player.isAlive() && player.getHealth() < player.getMaxHealth() && this.manager.getGame(player) == null) {
+            player.setHealth(player.getMaxHealth());
+        }
+
+        if (player.getScoreboardTeam() == null) {
+            server.getScoreboard().addPlayerToTeam(player.getEntityName(), (player.hasPermissionLevel(2) ? GameTeam.ADMIN : GameTeam.SPECTATOR).getTeam(server));
+        }
+    }
+}
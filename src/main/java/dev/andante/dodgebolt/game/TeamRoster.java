@@ -0,0 +1,138 @@
+package dev.andante.dodgebolt.game;
+
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
+import net.minecraft.scoreboard.Team;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An index of the online members of every {@link GameTeam}, kept up to date from scoreboard and connection events.
+ */
+public class TeamRoster {
+    private final Map<GameTeam, Set<ServerPlayerEntity>> members;
+    private final Map<GameTeam, Set<ServerPlayerEntity>> views;
+    private final Map<UUID, GameTeam> teams;
+    private final Map<String, ServerPlayerEntity> players;
+
+    @Nullable
+    private Listener listener;
+
+    public TeamRoster() {
+        this.members = new EnumMap<>(GameTeam.class);
+        this.views = new EnumMap<>(GameTeam.class);
+        for (GameTeam team : GameTeam.values()) {
+            Set<ServerPlayerEntity> set = new ReferenceLinkedOpenHashSet<>();
+            this.members.put(team, set);
+            this.views.put(team, Collections.unmodifiableSet(set));
+        }
+
+        this.teams = new HashMap<>();
+        this.players = new HashMap<>();
+    }
+
+    public void onJoin(ServerPlayNetworkHandler handler, PacketSender sender, MinecraftServer server) {
+        ServerPlayerEntity player = handler.player;
+        this.players.put(player.getEntityName(), player);
+        this.assign(player, GameTeam.ofAny(player.getScoreboardTeam()));
+    }
+
+    public void onDisconnect(ServerPlayNetworkHandler handler, MinecraftServer server) {
+        ServerPlayerEntity player = handler.player;
+        this.players.remove(player.getEntityName());
+        this.assign(player, null);
+    }
+
+    public void onRespawn(ServerPlayerEntity oldPlayer, ServerPlayerEntity player, boolean alive) {
+        this.assign(oldPlayer, null);
+        this.players.put(player.getEntityName(), player);
+        this.assign(player, GameTeam.ofAny(player.getScoreboardTeam()));
+    }
+
+    public void onTeamJoin(String playerName, Team team) {
+        ServerPlayerEntity player = this.players.get(playerName);
+        if (player != null) {
+            GameTeam gameTeam = GameTeam.ofAny(team);
+            this.assign(player, gameTeam);
+            if (this.listener != null && gameTeam != null) {
+                this.listener.onTeamJoin(player, gameTeam);
+            }
+        }
+    }
+
+    public void onTeamLeave(String playerName, Team team) {
+        ServerPlayerEntity player = this.players.get(playerName);
+        GameTeam gameTeam = GameTeam.ofAny(team);
+        if (player != null && gameTeam != null && this.getTeam(player) == gameTeam) {
+            this.assign(player, null);
+            if (this.listener != null) {
+                this.listener.onTeamLeave(player, gameTeam);
+            }
+        }
+    }
+
+    public void onTeamRemoved(Team team) {
+        GameTeam gameTeam = GameTeam.ofAny(team);
+        if (gameTeam != null) {
+            Set<ServerPlayerEntity> set = this.members.get(gameTeam);
+            for (ServerPlayerEntity player : set) {
+                this.teams.remove(player.getUuid());
+            }
+            set.clear();
+        }
+    }
+
+    private void assign(ServerPlayerEntity player, @Nullable GameTeam team) {
+        GameTeam previous = team == null ? this.teams.remove(player.getUuid()) : this.teams.put(player.getUuid(), team);
+        if (previous != null) {
+            Set<ServerPlayerEntity> set = this.members.get(previous);
+            if (!set.remove(player)) {
+                // a respawned player is a new entity under the same uuid
+                set.removeIf(member -> member.getUuid().equals(player.getUuid()));
+            }
+        }
+
+        if (team != null) {
+            this.members.get(team).add(player);
+        }
+    }
+
+    /**
+     * @return an unmodifiable live view of the online members of the given team, in order of joining
+     */
+    public Set<ServerPlayerEntity> getPlayers(GameTeam team) {
+        return this.views.get(team);
+    }
+
+    @Nullable
+    public GameTeam getTeam(ServerPlayerEntity player) {
+        return this.teams.get(player.getUuid());
+    }
+
+    @Nullable
+    public ServerPlayerEntity getPlayer(String name) {
+        return this.players.get(name);
+    }
+
+    public void setListener(@Nullable Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Notified of scoreboard team changes of online players. Connections and respawns are not reported.
+     */
+    public interface Listener {
+        void onTeamJoin(ServerPlayerEntity player, GameTeam team);
+
+        void onTeamLeave(ServerPlayerEntity player, GameTeam team);
+    }
+}
@@ -0,0 +1,30 @@
+package dev.andante.dodgebolt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dodgebolt.ArenaPlace")
+@Label("Arena Placement")
+@Category({ "Dodgebolt", "World" })
+@Description("A full arena placed into the world")
+@StackTrace(false)
+public class ArenaPlaceEvent extends Event {
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Z")
+    public int z;
+
+    @Label("Volume")
+    public int volume;
+
+    @Label("Blocks Changed")
+    public int blocks;
+}
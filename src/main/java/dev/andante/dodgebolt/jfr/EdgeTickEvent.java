@@ -0,0 +1,30 @@
+package dev.andante.dodgebolt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dodgebolt.EdgeTick")
+@Label("Edge Decay")
+@Category({ "Dodgebolt", "Game" })
+@Description("A flash or removal of a game's decaying floor layers")
+@StackTrace(false)
+public class EdgeTickEvent extends Event {
+    @Label("Arena")
+    public int arena;
+
+    @Label("From Layer")
+    public int from;
+
+    @Label("To Layer")
+    public int to;
+
+    @Label("Removal")
+    public boolean removal;
+
+    @Label("Blocks Changed")
+    public int blocks;
+}
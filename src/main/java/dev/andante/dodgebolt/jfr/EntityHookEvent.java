@@ -0,0 +1,51 @@
+package dev.andante.dodgebolt.jfr;
+
+import dev.andante.dodgebolt.game.DodgeboltGame;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+
+/**
+ * Fired for every entity hook, so only hooks slower than the threshold are recorded by default.
+ */
+@Name("dodgebolt.EntityHook")
+@Label("Entity Hook")
+@Category({ "Dodgebolt", "Entity" })
+@Description("A game callback driven by an arrow or item entity")
+@StackTrace(false)
+@Threshold("20 us")
+public class EntityHookEvent extends Event {
+    public static final String ITEM_TICK = "item_tick";
+    public static final String ARROW_TICK = "arrow_tick";
+    public static final String HIT_BLOCK = "hit_block";
+    public static final String HIT_ENTITY = "hit_entity";
+    public static final String ARROW_ITEM_DESTROYED = "arrow_item_destroyed";
+
+    @Label("Hook")
+    public String hook;
+
+    @Label("Arena")
+    public int arena;
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Game Entities")
+    public int entities;
+
+    public static void commit(EntityHookEvent event, String hook, DodgeboltGame game, Entity entity) {
+        if (event.shouldCommit()) {
+            event.hook = hook;
+            event.arena = game.getArena().getIndex();
+            event.entityType = EntityType.getId(entity.getType()).toString();
+            event.entities = game.getEntities().size();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package dev.andante.dodgebolt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dodgebolt.GameTick")
+@Label("Game Tick")
+@Category({ "Dodgebolt", "Game" })
+@Description("One tick of a game's stage handler")
+@StackTrace(false)
+public class GameTickEvent extends Event {
+    @Label("Arena")
+    public int arena;
+
+    @Label("Round")
+    public int round;
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Blocks Changed")
+    public int blocks;
+
+    @Label("Entities")
+    public int entities;
+}
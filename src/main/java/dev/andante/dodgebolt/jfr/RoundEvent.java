@@ -0,0 +1,34 @@
+package dev.andante.dodgebolt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dodgebolt.Round")
+@Label("Round Transition")
+@Category({ "Dodgebolt", "Game" })
+@Description("A round being triggered, started or ended")
+@StackTrace(false)
+public class RoundEvent extends Event {
+    public static final String TRIGGER = "trigger";
+    public static final String START = "start";
+    public static final String END = "end";
+
+    @Label("Arena")
+    public int arena;
+
+    @Label("Round")
+    public int round;
+
+    @Label("Transition")
+    public String transition;
+
+    @Label("Blocks Changed")
+    public int blocks;
+
+    @Label("Entities")
+    public int entities;
+}
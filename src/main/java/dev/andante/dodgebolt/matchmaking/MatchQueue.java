@@ -0,0 +1,169 @@
+package dev.andante.dodgebolt.matchmaking;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Players waiting for a match, indexed both by rating and by time queued.
+ * Adding and removing are O(log n), and polling a match of k players is O(k log n).
+ *
+ * <p>The longest waiting player anchors every match and is grouped with the players closest to them in rating.
+ * The rating window they accept widens the longer they wait, so nobody waits forever on an unusual rating.
+ * Until then the next longest waiting players get to anchor, so one outlier does not hold up everyone else.</p>
+ */
+public class MatchQueue {
+    /**
+     * The longest waiting players tried as anchor on each poll, which keeps polling O(k log n).
+     */
+    public static final int MAX_ANCHORS = 4;
+
+    private static final Comparator<Entry> BY_RATING = Comparator.comparingInt(Entry::rating).thenComparingLong(Entry::sequence);
+    private static final Comparator<Entry> BY_SEQUENCE = Comparator.comparingLong(Entry::sequence);
+
+    private final int teamSize;
+    private final int baseWindow;
+    private final int windowGrowth;
+
+    private final Map<UUID, Entry> entries;
+    private final NavigableSet<Entry> byRating;
+    private final NavigableSet<Entry> byAge;
+    private long sequence;
+
+    /**
+     * @param baseWindow the rating difference accepted without waiting
+     * @param windowGrowth the rating difference accepted additionally for every tick waited
+     */
+    public MatchQueue(int teamSize, int baseWindow, int windowGrowth) {
+        this.teamSize = teamSize;
+        this.baseWindow = baseWindow;
+        this.windowGrowth = windowGrowth;
+        this.entries = new HashMap<>();
+        this.byRating = new TreeSet<>(BY_RATING);
+        this.byAge = new TreeSet<>(BY_SEQUENCE);
+    }
+
+    /**
+     * @return whether the player was not queued already
+     */
+    public boolean add(UUID player, int rating, long tick) {
+        if (this.entries.containsKey(player)) {
+            return false;
+        }
+
+        Entry entry = new Entry(player, rating, tick, this.sequence++);
+        this.entries.put(player, entry);
+        this.byRating.add(entry);
+        this.byAge.add(entry);
+        return true;
+    }
+
+    public boolean remove(UUID player) {
+        Entry entry = this.entries.remove(player);
+        if (entry == null) {
+            return false;
+        }
+
+        this.byRating.remove(entry);
+        this.byAge.remove(entry);
+        return true;
+    }
+
+    public boolean contains(UUID player) {
+        return this.entries.containsKey(player);
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Takes the longest waiting player that can be matched and the players closest to them in rating out of the queue,
+     * split into two balanced teams.
+     * @return the match, or null if none of the {@value #MAX_ANCHORS} longest waiting players have enough players within their rating window
+     */
+    @Nullable
+    public Match poll(long tick) {
+        int players = this.teamSize * 2;
+        if (this.entries.size() < players) {
+            return null;
+        }
+
+        Iterator<Entry> anchors = this.byAge.iterator();
+        List<Entry> picked = null;
+        for (int i = 0; i < MAX_ANCHORS && picked == null && anchors.hasNext(); i++) {
+            picked = this.pick(anchors.next(), players, tick);
+        }
+
+        if (picked == null) {
+            return null;
+        }
+
+        long enqueued = Long.MAX_VALUE;
+        for (Entry entry : picked) {
+            this.remove(entry.player());
+            enqueued = Math.min(enqueued, entry.enqueued());
+        }
+
+        // snake draft from the highest rating, alpha beta beta alpha, so both teams get an even spread
+        picked.sort(BY_RATING.reversed());
+        List<UUID> alpha = new ArrayList<>(this.teamSize);
+        List<UUID> beta = new ArrayList<>(this.teamSize);
+        for (int i = 0; i < players; i++) {
+            int turn = i & 3;
+            (turn == 0 || turn == 3 ? alpha : beta).add(picked.get(i).player());
+        }
+
+        return new Match(alpha, beta, tick - enqueued);
+    }
+
+    /**
+     * @return the anchor and the players closest to them in rating, or null if too few are within their rating window
+     */
+    @Nullable
+    private List<Entry> pick(Entry anchor, int players, long tick) {
+        long window = this.baseWindow + this.windowGrowth * Math.max(0L, tick - anchor.enqueued());
+
+        List<Entry> picked = new ArrayList<>(players);
+        picked.add(anchor);
+
+        Iterator<Entry> lower = this.byRating.headSet(anchor, false).descendingIterator();
+        Iterator<Entry> higher = this.byRating.tailSet(anchor, false).iterator();
+        Entry nextLower = lower.hasNext() ? lower.next() : null;
+        Entry nextHigher = higher.hasNext() ? higher.next() : null;
+        while (picked.size() < players) {
+            long lowerDistance = nextLower == null ? Long.MAX_VALUE : (long) anchor.rating() - nextLower.rating();
+            long higherDistance = nextHigher == null ? Long.MAX_VALUE : (long) nextHigher.rating() - anchor.rating();
+            if (Math.min(lowerDistance, higherDistance) > window) {
+                return null;
+            }
+
+            if (lowerDistance <= higherDistance) {
+                picked.add(nextLower);
+                nextLower = lower.hasNext() ? lower.next() : null;
+            } else {
+                picked.add(nextHigher);
+                nextHigher = higher.hasNext() ? higher.next() : null;
+            }
+        }
+
+        return picked;
+    }
+
+    private record Entry(UUID player, int rating, long enqueued, long sequence) {
+    }
+
+    /**
+     * @param waited the ticks the longest waiting player of the match was queued for
+     */
+    public record Match(List<UUID> alpha, List<UUID> beta, long waited) {
+    }
+}
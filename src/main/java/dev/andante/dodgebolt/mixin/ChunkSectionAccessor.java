@@ -0,0 +1,15 @@
+package dev.andante.dodgebolt.mixin;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Mutable;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(ChunkSection.class)
+public interface ChunkSectionAccessor {
+    @Mutable
+    @Accessor
+    void setBlockStateContainer(PalettedContainer<BlockState> blockStateContainer);
+}
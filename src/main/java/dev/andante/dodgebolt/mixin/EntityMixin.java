@@ -0,0 +1,28 @@
+package dev.andante.dodgebolt.mixin;
+
+import dev.andante.dodgebolt.GameEntityAccess;
+import dev.andante.dodgebolt.game.DodgeboltGame;
+import net.minecraft.entity.Entity;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(Entity.class)
+public class EntityMixin implements GameEntityAccess {
+    @Unique
+    @Nullable
+    private DodgeboltGame game;
+
+    @Unique
+    @Override
+    public void setGame(@Nullable DodgeboltGame game) {
+        this.game = game;
+    }
+
+    @Unique
+    @Nullable
+    @Override
+    public DodgeboltGame getGame() {
+        return this.game;
+    }
+}
@@ -0,0 +1,23 @@
+package dev.andante.dodgebolt.mixin;
+
+import dev.andante.dodgebolt.Dodgebolt;
+import net.minecraft.entity.player.HungerManager;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(HungerManager.class)
+public class HungerManagerMixin {
+    @Shadow private int foodLevel;
+
+    @Inject(method = "update", at = @At("TAIL"))
+    private void onUpdate(PlayerEntity player, CallbackInfo ci) {
+        if (this.foodLevel < 20 && player instanceof ServerPlayerEntity serverPlayer) {
+            Dodgebolt.DODGEBOLT_MANAGER.getHousekeeping().markDirty(serverPlayer);
+        }
+    }
+}
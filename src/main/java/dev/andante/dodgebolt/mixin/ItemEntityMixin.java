@@ -1,6 +1,7 @@
 package dev.andante.dodgebolt.mixin;
 
 import dev.andante.dodgebolt.Dodgebolt;
+import dev.andante.dodgebolt.GameEntityAccess;
 import dev.andante.dodgebolt.ItemEntityAccess;
 import net.minecraft.entity.ItemEntity;
 import org.spongepowered.asm.mixin.Mixin;
@@ -16,7 +17,9 @@ public class ItemEntityMixin implements ItemEntityAccess {
 
     @Inject(method = "tick", at = @At("TAIL"))
     private void onTick(CallbackInfo ci) {
-        Dodgebolt.DODGEBOLT_MANAGER.onItemTick((ItemEntity) (Object) this);
+        if (((GameEntityAccess) this).getGame() != null) {
+            Dodgebolt.DODGEBOLT_MANAGER.onItemTick((ItemEntity) (Object) this);
+        }
     }
 
     @Unique
@@ -1,6 +1,7 @@
 package dev.andante.dodgebolt.mixin;
 
 import dev.andante.dodgebolt.Dodgebolt;
+import dev.andante.dodgebolt.GameEntityAccess;
 import net.minecraft.entity.ItemEntity;
 import net.minecraft.item.Item;
 import net.minecraft.item.Items;
@@ -14,7 +15,7 @@ public class ItemMixin {
     @Inject(method = "onItemEntityDestroyed", at = @At("HEAD"))
     private void onOnItemEntityDestroyed(ItemEntity entity, CallbackInfo ci) {
         Item that = (Item) (Object) this;
-        if (that == Items.ARROW) {
+        if (that == Items.ARROW && ((GameEntityAccess) entity).getGame() != null) {
             Dodgebolt.DODGEBOLT_MANAGER.onArrowItemDestroyed(entity);
         }
     }
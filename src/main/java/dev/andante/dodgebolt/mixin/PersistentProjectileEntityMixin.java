@@ -1,6 +1,7 @@
 package dev.andante.dodgebolt.mixin;
 
 import dev.andante.dodgebolt.Dodgebolt;
+import dev.andante.dodgebolt.GameEntityAccess;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.projectile.ArrowEntity;
 import net.minecraft.entity.projectile.PersistentProjectileEntity;
@@ -27,7 +28,7 @@ public abstract class PersistentProjectileEntityMixin extends ProjectileEntity {
     @Inject(method = "tick", at = @At("TAIL"))
     private void onTick(CallbackInfo ci) {
         PersistentProjectileEntity that = (PersistentProjectileEntity) (Object) this;
-        if (that instanceof ArrowEntity arrowEntity) {
+        if (that instanceof ArrowEntity arrowEntity && ((GameEntityAccess) this).getGame() != null) {
             Dodgebolt.DODGEBOLT_MANAGER.onArrowTick(arrowEntity);
         }
     }
@@ -35,7 +36,7 @@ public abstract class PersistentProjectileEntityMixin extends ProjectileEntity {
     @Inject(method = "onBlockHit", at = @At("TAIL"))
     private void onHitBlock(BlockHitResult hit, CallbackInfo ci) {
         PersistentProjectileEntity that = (PersistentProjectileEntity) (Object) this;
-        if (that instanceof ArrowEntity arrowEntity) {
+        if (that instanceof ArrowEntity arrowEntity && ((GameEntityAccess) this).getGame() != null) {
             Dodgebolt.DODGEBOLT_MANAGER.onHitBlock(arrowEntity, hit);
         }
     }
@@ -44,7 +45,9 @@ public abstract class PersistentProjectileEntityMixin extends ProjectileEntity {
     private void onHitEntity(EntityHitResult hit, CallbackInfo ci) {
         PersistentProjectileEntity that = (PersistentProjectileEntity) (Object) this;
         if (that instanceof ArrowEntity arrowEntity) {
-            Dodgebolt.DODGEBOLT_MANAGER.onHitEntity(arrowEntity, hit);
+            if (((GameEntityAccess) this).getGame() != null) {
+                Dodgebolt.DODGEBOLT_MANAGER.onHitEntity(arrowEntity, hit);
+            }
             ci.cancel();
         }
     }
@@ -0,0 +1,17 @@
+package dev.andante.dodgebolt.mixin;
+
+import dev.andante.dodgebolt.Dodgebolt;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerPlayerEntity.class)
+public class ServerPlayerEntityMixin {
+    @Inject(method = "onStatusEffectRemoved", at = @At("TAIL"))
+    private void onStatusEffectRemoved(StatusEffectInstance effect, CallbackInfo ci) {
+        Dodgebolt.DODGEBOLT_MANAGER.getHousekeeping().markDirty((ServerPlayerEntity) (Object) this);
+    }
+}
@@ -0,0 +1,30 @@
+package dev.andante.dodgebolt.mixin;
+
+import dev.andante.dodgebolt.Dodgebolt;
+import net.minecraft.scoreboard.ServerScoreboard;
+import net.minecraft.scoreboard.Team;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(ServerScoreboard.class)
+public class ServerScoreboardMixin {
+    @Inject(method = "addPlayerToTeam", at = @At("RETURN"))
+    private void onAddPlayerToTeam(String playerName, Team team, CallbackInfoReturnable<Boolean> cir) {
+        if (cir.getReturnValueZ()) {
+            Dodgebolt.DODGEBOLT_MANAGER.getRoster().onTeamJoin(playerName, team);
+        }
+    }
+
+    @Inject(method = "removePlayerFromTeam", at = @At("RETURN"))
+    private void onRemovePlayerFromTeam(String playerName, Team team, CallbackInfo ci) {
+        Dodgebolt.DODGEBOLT_MANAGER.getRoster().onTeamLeave(playerName, team);
+    }
+
+    @Inject(method = "updateRemovedTeam", at = @At("HEAD"))
+    private void onUpdateRemovedTeam(Team team, CallbackInfo ci) {
+        Dodgebolt.DODGEBOLT_MANAGER.getRoster().onTeamRemoved(team);
+    }
+}
@@ -0,0 +1,33 @@
+package dev.andante.dodgebolt.mixin;
+
+import dev.andante.dodgebolt.GameTeamAccess;
+import dev.andante.dodgebolt.game.GameTeam;
+import net.minecraft.scoreboard.Team;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(Team.class)
+public class TeamMixin implements GameTeamAccess {
+    @Shadow @Final private String name;
+
+    @Unique
+    private GameTeam gameTeam;
+
+    @Unique
+    private boolean gameTeamResolved;
+
+    @Unique
+    @Nullable
+    @Override
+    public GameTeam getGameTeam() {
+        if (!this.gameTeamResolved) {
+            this.gameTeam = GameTeam.byName(this.name);
+            this.gameTeamResolved = true;
+        }
+
+        return this.gameTeam;
+    }
+}
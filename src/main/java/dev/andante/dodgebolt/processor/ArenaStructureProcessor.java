@@ -58,18 +58,20 @@ public class ArenaStructureProcessor extends StructureProcessor {
     public StructureBlockInfo process(WorldView world, BlockPos pos, BlockPos pivot, StructureBlockInfo originalBlockInfo, StructureBlockInfo currentBlockInfo, StructurePlacementData data) {
         BlockState state = currentBlockInfo.state;
         Block block = state.getBlock();
-        BlockState nu = state;
+        BlockState nu;
         Function<GameTeam.BlockData, Block> alphaRemapper = ALPHA_REMAPPERS.get(block);
         if (alphaRemapper == null) {
             Function<GameTeam.BlockData, Block> betaRemapper = BETA_REMAPPERS.get(block);
-            if (betaRemapper != null) {
-                nu = betaRemapper.apply(this.beta.getBlockData()).getDefaultState();
+            if (betaRemapper == null) {
+                return currentBlockInfo;
             }
+
+            nu = betaRemapper.apply(this.beta.getBlockData()).getDefaultState();
         } else {
             nu = alphaRemapper.apply(this.alpha.getBlockData()).getDefaultState();
         }
 
-        return new StructureBlockInfo(currentBlockInfo.pos, nu, currentBlockInfo.nbt);
+        return nu == state ? currentBlockInfo : new StructureBlockInfo(currentBlockInfo.pos, nu, currentBlockInfo.nbt);
     }
 
     @Override
@@ -0,0 +1,174 @@
+package dev.andante.dodgebolt.replay;
+
+import dev.andante.dodgebolt.rules.Side;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static dev.andante.dodgebolt.replay.ReplayFormat.readSignedVarInt;
+import static dev.andante.dodgebolt.replay.ReplayFormat.readVarInt;
+
+/**
+ * A read-only view of a recorded match, with every position resolved to absolute values.
+ */
+public class Replay {
+    private final int arena;
+    private final String alpha, beta;
+    private final long startTime;
+    private final List<UUID> players;
+    private final List<Side> sides;
+    private final List<Event> events;
+
+    private Replay(int arena, String alpha, String beta, long startTime, List<UUID> players, List<Side> sides, List<Event> events) {
+        this.arena = arena;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.startTime = startTime;
+        this.players = Collections.unmodifiableList(players);
+        this.sides = Collections.unmodifiableList(sides);
+        this.events = Collections.unmodifiableList(events);
+    }
+
+    public static Replay read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != ReplayFormat.MAGIC) {
+                throw new IOException("Not a replay: " + path);
+            }
+
+            int version = readVarInt(in);
+            if (version != ReplayFormat.VERSION) {
+                throw new IOException("Unsupported replay version " + version);
+            }
+
+            int arena = readVarInt(in);
+            String alpha = in.readUTF();
+            String beta = in.readUTF();
+            long startTime = in.readLong();
+
+            List<UUID> players = new ArrayList<>();
+            List<Side> sides = new ArrayList<>();
+            List<Event> events = new ArrayList<>();
+            int[] positions = new int[3 * 16];
+            int tick = 0;
+
+            while (true) {
+                int id = in.read();
+                if (id == -1) {
+                    break;
+                }
+
+                try {
+                    ReplayEventType type = ReplayEventType.byId(id);
+                    tick += readVarInt(in);
+                    switch (type) {
+                        case PLAYER -> {
+                            int index = readVarInt(in);
+                            int side = readSignedVarInt(in);
+                            UUID uuid = new UUID(in.readLong(), in.readLong());
+                            while (players.size() <= index) {
+                                players.add(null);
+                                sides.add(null);
+                            }
+                            players.set(index, uuid);
+                            sides.set(index, side == -1 ? null : Side.values()[side]);
+                            events.add(new Event(type, tick, index, side, 0, 0));
+                        }
+                        case POSITION -> {
+                            int index = readVarInt(in);
+                            if (index * 3 + 3 > positions.length) {
+                                positions = Arrays.copyOf(positions, Math.max(positions.length * 2, index * 3 + 3));
+                            }
+
+                            int i = index * 3;
+                            positions[i] += readSignedVarInt(in);
+                            positions[i + 1] += readSignedVarInt(in);
+                            positions[i + 2] += readSignedVarInt(in);
+                            events.add(new Event(type, tick, index, positions[i], positions[i + 1], positions[i + 2]));
+                        }
+                        case STAGE -> events.add(new Event(type, tick, readVarInt(in), readVarInt(in), 0, 0));
+                        case ROUND_END, DECAY -> events.add(new Event(type, tick, readVarInt(in), readVarInt(in), readVarInt(in), 0));
+                        case ARROW_SPAWN, HIT_BLOCK -> events.add(new Event(type, tick, readVarInt(in), readSignedVarInt(in), readSignedVarInt(in), readSignedVarInt(in)));
+                        case HIT_ENTITY -> events.add(new Event(type, tick, readVarInt(in), readVarInt(in), readSignedVarInt(in), 0));
+                        case ELIMINATION -> events.add(new Event(type, tick, readVarInt(in), readSignedVarInt(in), 0, 0));
+                    }
+                } catch (EOFException exception) {
+                    // the server stopped mid write, keep everything before
+                    break;
+                }
+            }
+
+            return new Replay(arena, alpha, beta, startTime, players, sides, events);
+        }
+    }
+
+    public int getArena() {
+        return this.arena;
+    }
+
+    public String getAlpha() {
+        return this.alpha;
+    }
+
+    public String getBeta() {
+        return this.beta;
+    }
+
+    public long getStartTime() {
+        return this.startTime;
+    }
+
+    @Nullable
+    public UUID getPlayer(int index) {
+        return index >= 0 && index < this.players.size() ? this.players.get(index) : null;
+    }
+
+    @Nullable
+    public Side getSide(int index) {
+        return index >= 0 && index < this.sides.size() ? this.sides.get(index) : null;
+    }
+
+    public List<UUID> getPlayers() {
+        return this.players;
+    }
+
+    public List<Event> getEvents() {
+        return this.events;
+    }
+
+    /**
+     * @return the tick of the last event
+     */
+    public int getLength() {
+        return this.events.isEmpty() ? 0 : this.events.get(this.events.size() - 1).tick();
+    }
+
+    /**
+     * A single event, with its fields described by {@link ReplayEventType}.
+     */
+    public record Event(ReplayEventType type, int tick, int a, int b, int c, int d) {
+        /**
+         * @return the dequantized x of a {@link ReplayEventType#POSITION} or {@link ReplayEventType#ARROW_SPAWN}
+         */
+        public double getX() {
+            return ReplayFormat.dequantize(this.b);
+        }
+
+        public double getY() {
+            return ReplayFormat.dequantize(this.c);
+        }
+
+        public double getZ() {
+            return ReplayFormat.dequantize(this.d);
+        }
+    }
+}
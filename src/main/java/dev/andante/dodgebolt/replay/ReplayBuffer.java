@@ -0,0 +1,83 @@
+package dev.andante.dodgebolt.replay;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A preallocated single producer, single consumer ring of fixed size records of four longs.
+ * The producer never blocks or allocates, dropping records instead when the ring is full.
+ */
+public class ReplayBuffer {
+    private static final int RECORD_LONGS = 4;
+
+    private final long[] data;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * The consumer position as last seen by the producer.
+     */
+    private long cachedTail;
+
+    /**
+     * @param capacity the number of records, rounded up to a power of two
+     */
+    public ReplayBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.data = new long[size * RECORD_LONGS];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Called by the producer only.
+     *
+     * @return whether the record fit
+     */
+    public boolean offer(long header, long a, long b, long c) {
+        long head = this.head.getPlain();
+        int capacity = this.mask + 1;
+        if (head - this.cachedTail >= capacity) {
+            this.cachedTail = this.tail.getAcquire();
+            if (head - this.cachedTail >= capacity) {
+                this.dropped.setRelease(this.dropped.getPlain() + 1);
+                return false;
+            }
+        }
+
+        int i = (int) (head & this.mask) * RECORD_LONGS;
+        this.data[i] = header;
+        this.data[i + 1] = a;
+        this.data[i + 2] = b;
+        this.data[i + 3] = c;
+        this.head.setRelease(head + 1);
+        return true;
+    }
+
+    /**
+     * Called by the consumer only.
+     *
+     * @return the number of records drained
+     */
+    public int drain(Sink sink) throws IOException {
+        long tail = this.tail.getPlain();
+        long head = this.head.getAcquire();
+        for (long position = tail; position < head; position++) {
+            int i = (int) (position & this.mask) * RECORD_LONGS;
+            sink.accept(this.data[i], this.data[i + 1], this.data[i + 2], this.data[i + 3]);
+        }
+
+        this.tail.setRelease(head);
+        return (int) (head - tail);
+    }
+
+    public long getDropped() {
+        return this.dropped.getAcquire();
+    }
+
+    @FunctionalInterface
+    public interface Sink {
+        void accept(long header, long a, long b, long c) throws IOException;
+    }
+}
@@ -0,0 +1,53 @@
+package dev.andante.dodgebolt.replay;
+
+/**
+ * The events of a replay. The ordinal is the id written to the file, so new types go at the end.
+ */
+public enum ReplayEventType {
+    /**
+     * {@code a} stage ordinal, {@code b} round.
+     */
+    STAGE,
+    /**
+     * {@code a} winning side ordinal, {@code b} alpha score, {@code c} beta score.
+     */
+    ROUND_END,
+    /**
+     * {@code a} player index, {@code b} side ordinal. The uuid is kept by the {@link Replay}.
+     */
+    PLAYER,
+    /**
+     * {@code a} player index, {@code b c d} quantized position.
+     */
+    POSITION,
+    /**
+     * {@code a} arrow entity id, {@code b c d} quantized position.
+     */
+    ARROW_SPAWN,
+    /**
+     * {@code a} arrow entity id, {@code b c d} block position.
+     */
+    HIT_BLOCK,
+    /**
+     * {@code a} arrow entity id, {@code b} victim player index, {@code c} shooter player index or {@code -1}.
+     */
+    HIT_ENTITY,
+    /**
+     * {@code a} player index, {@code b} attacker player index or {@code -1}.
+     */
+    ELIMINATION,
+    /**
+     * {@code a} first layer, {@code b} last layer exclusive, {@code c} {@code 1} if the layers were removed rather than flashed.
+     */
+    DECAY;
+
+    private static final ReplayEventType[] VALUES = values();
+
+    public static ReplayEventType byId(int id) {
+        if (id < 0 || id >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown replay event " + id);
+        }
+
+        return VALUES[id];
+    }
+}
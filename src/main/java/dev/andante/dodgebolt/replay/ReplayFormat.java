@@ -0,0 +1,58 @@
+package dev.andante.dodgebolt.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The layout of a replay file: a header followed by events, each a type byte, the tick delta
+ * and the payload of the type as variable length integers. Player positions are deltas of the last position of that player.
+ */
+public interface ReplayFormat {
+    int MAGIC = 0x44425250;
+    int VERSION = 1;
+    String EXTENSION = ".dbr";
+
+    /**
+     * Positions are stored in sixteenths of a block.
+     */
+    int POSITION_SCALE = 16;
+
+    static int quantize(double coordinate) {
+        return (int) Math.round(coordinate * POSITION_SCALE);
+    }
+
+    static double dequantize(int coordinate) {
+        return (double) coordinate / POSITION_SCALE;
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("VarInt too big");
+    }
+
+    static void writeSignedVarInt(DataOutput out, int value) throws IOException {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    static int readSignedVarInt(DataInput in) throws IOException {
+        int value = readVarInt(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,270 @@
+package dev.andante.dodgebolt.replay;
+
+import com.mojang.logging.LogUtils;
+import dev.andante.dodgebolt.rules.RoundStage;
+import dev.andante.dodgebolt.rules.Side;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static dev.andante.dodgebolt.replay.ReplayFormat.writeSignedVarInt;
+import static dev.andante.dodgebolt.replay.ReplayFormat.writeVarInt;
+
+/**
+ * Records a match to a replay file. The tick thread only pushes raw records into a {@link ReplayBuffer},
+ * while a writer thread encodes and writes them, so a slow disk can only ever drop records.
+ */
+public class ReplayRecorder {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final AtomicInteger WRITER_ID = new AtomicInteger();
+
+    public static final int BUFFER_CAPACITY = 1 << 13;
+    public static final long DRAIN_INTERVAL_NANOS = 5_000_000L;
+    public static final long CLOSE_TIMEOUT_MILLIS = 5000L;
+
+    /**
+     * The ticks between samples of player positions.
+     */
+    public static final int POSITION_INTERVAL = 2;
+
+    private final Path path;
+    private final int arena;
+    private final String alpha, beta;
+    private final ReplayBuffer buffer;
+    private final Object2IntMap<UUID> players;
+    private final Thread writer;
+
+    private volatile boolean closed;
+    private int tick;
+
+    private ReplayRecorder(Path path, int arena, String alpha, String beta) {
+        this.path = path;
+        this.arena = arena;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.buffer = new ReplayBuffer(BUFFER_CAPACITY);
+        this.players = new Object2IntOpenHashMap<>();
+        this.players.defaultReturnValue(-1);
+        this.writer = new Thread(this::write, "Dodgebolt Replay Writer #" + WRITER_ID.incrementAndGet());
+        this.writer.setDaemon(true);
+    }
+
+    public static ReplayRecorder start(Path path, int arena, String alpha, String beta) {
+        ReplayRecorder recorder = new ReplayRecorder(path, arena, alpha, beta);
+        recorder.writer.start();
+        return recorder;
+    }
+
+    public void tick() {
+        this.tick++;
+    }
+
+    public boolean shouldSamplePositions() {
+        return this.tick % POSITION_INTERVAL == 0;
+    }
+
+    public void stage(RoundStage stage, int round) {
+        this.push(ReplayEventType.STAGE, stage.ordinal(), round, 0, 0);
+    }
+
+    public void roundEnd(Side winner, int scoreAlpha, int scoreBeta) {
+        this.push(ReplayEventType.ROUND_END, winner.ordinal(), scoreAlpha, scoreBeta, 0);
+    }
+
+    public void position(UUID player, Side side, double x, double y, double z) {
+        int index = this.getIndex(player, side);
+        if (index != -1) {
+            this.push(ReplayEventType.POSITION, index, ReplayFormat.quantize(x), ReplayFormat.quantize(y), ReplayFormat.quantize(z));
+        }
+    }
+
+    public void arrowSpawn(int arrow, double x, double y, double z) {
+        this.push(ReplayEventType.ARROW_SPAWN, arrow, ReplayFormat.quantize(x), ReplayFormat.quantize(y), ReplayFormat.quantize(z));
+    }
+
+    public void hitBlock(int arrow, int x, int y, int z) {
+        this.push(ReplayEventType.HIT_BLOCK, arrow, x, y, z);
+    }
+
+    public void hitEntity(int arrow, UUID victim, @Nullable Side victimSide, @Nullable UUID shooter, @Nullable Side shooterSide) {
+        int victimIndex = this.getIndex(victim, victimSide);
+        int shooterIndex = shooter == null ? -1 : this.getIndex(shooter, shooterSide);
+        if (victimIndex != -1 && (shooter == null || shooterIndex != -1)) {
+            this.push(ReplayEventType.HIT_ENTITY, arrow, victimIndex, shooterIndex, 0);
+        }
+    }
+
+    public void elimination(UUID player, @Nullable Side side, @Nullable UUID attacker, @Nullable Side attackerSide) {
+        int playerIndex = this.getIndex(player, side);
+        int attackerIndex = attacker == null ? -1 : this.getIndex(attacker, attackerSide);
+        if (playerIndex != -1 && (attacker == null || attackerIndex != -1)) {
+            this.push(ReplayEventType.ELIMINATION, playerIndex, attackerIndex, 0, 0);
+        }
+    }
+
+    public void decay(int from, int to, boolean removal) {
+        this.push(ReplayEventType.DECAY, from, to, removal ? 1 : 0, 0);
+    }
+
+    /**
+     * Stops recording. The writer thread drains and closes the file in the background.
+     */
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.writer);
+    }
+
+    /**
+     * Waits a short while for the writer thread to finish after {@link #close}, for when the process is about to exit.
+     */
+    public void awaitClosed() {
+        try {
+            this.writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.writer.isAlive()) {
+            LOGGER.warn("Timed out writing replay {}", this.path.getFileName());
+        }
+    }
+
+    /**
+     * Registers the player on their first event. Until the buffer accepts their record, events about them are dropped
+     * and registering is tried again on the next one, so the file never refers to a player it has not introduced.
+     * @return the index of the player, or -1 if they could not be registered
+     */
+    private int getIndex(UUID player, @Nullable Side side) {
+        int index = this.players.getInt(player);
+        if (index == -1) {
+            int next = this.players.size();
+            if (this.buffer.offer(header(ReplayEventType.PLAYER, this.tick), ((long) next << 32) | ((side == null ? -1 : side.ordinal()) & 0xFFFFFFFFL), player.getMostSignificantBits(), player.getLeastSignificantBits())) {
+                this.players.put(player, next);
+                index = next;
+            }
+        }
+
+        return index;
+    }
+
+    private void push(ReplayEventType type, int a, int b, int c, int d) {
+        this.buffer.offer(header(type, this.tick), a, b, ((long) c << 32) | (d & 0xFFFFFFFFL));
+    }
+
+    private static long header(ReplayEventType type, int tick) {
+        return ((long) type.ordinal() << 56) | (tick & 0xFFFFFFFFL);
+    }
+
+    private void write() {
+        try {
+            Files.createDirectories(this.path.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.path), 1 << 16))) {
+                out.writeInt(ReplayFormat.MAGIC);
+                writeVarInt(out, ReplayFormat.VERSION);
+                writeVarInt(out, this.arena);
+                out.writeUTF(this.alpha);
+                out.writeUTF(this.beta);
+                out.writeLong(System.currentTimeMillis());
+
+                Encoder encoder = new Encoder(out);
+                while (true) {
+                    boolean closed = this.closed;
+                    if (this.buffer.drain(encoder) == 0) {
+                        if (closed) {
+                            break;
+                        }
+
+                        LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+                    }
+                }
+            }
+
+            long dropped = this.buffer.getDropped();
+            if (dropped > 0) {
+                LOGGER.warn("Replay {} dropped {} events", this.path.getFileName(), dropped);
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Failed to write replay {}", this.path, exception);
+        }
+    }
+
+    /**
+     * Writes raw records in the file format, on the writer thread.
+     */
+    private static class Encoder implements ReplayBuffer.Sink {
+        private final DataOutputStream out;
+        private int lastTick;
+        private int[] lastPositions = new int[3 * 16];
+
+        private Encoder(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void accept(long header, long a, long b, long c) throws IOException {
+            ReplayEventType type = ReplayEventType.byId((int) (header >>> 56));
+            int tick = (int) header;
+            this.out.writeByte(type.ordinal());
+            writeVarInt(this.out, tick - this.lastTick);
+            this.lastTick = tick;
+
+            switch (type) {
+                case PLAYER -> {
+                    writeVarInt(this.out, (int) (a >>> 32));
+                    writeSignedVarInt(this.out, (int) a);
+                    this.out.writeLong(b);
+                    this.out.writeLong(c);
+                }
+                case POSITION -> {
+                    int index = (int) a;
+                    if (index * 3 + 3 > this.lastPositions.length) {
+                        this.lastPositions = Arrays.copyOf(this.lastPositions, Math.max(this.lastPositions.length * 2, index * 3 + 3));
+                    }
+
+                    int i = index * 3;
+                    int x = (int) b, y = (int) (c >> 32), z = (int) c;
+                    writeVarInt(this.out, index);
+                    writeSignedVarInt(this.out, x - this.lastPositions[i]);
+                    writeSignedVarInt(this.out, y - this.lastPositions[i + 1]);
+                    writeSignedVarInt(this.out, z - this.lastPositions[i + 2]);
+                    this.lastPositions[i] = x;
+                    this.lastPositions[i + 1] = y;
+                    this.lastPositions[i + 2] = z;
+                }
+                case STAGE, ROUND_END, DECAY -> {
+                    writeVarInt(this.out, (int) a);
+                    writeVarInt(this.out, (int) b);
+                    if (type != ReplayEventType.STAGE) {
+                        writeVarInt(this.out, (int) (c >> 32));
+                    }
+                }
+                case ARROW_SPAWN, HIT_BLOCK -> {
+                    writeVarInt(this.out, (int) a);
+                    writeSignedVarInt(this.out, (int) b);
+                    writeSignedVarInt(this.out, (int) (c >> 32));
+                    writeSignedVarInt(this.out, (int) c);
+                }
+                case HIT_ENTITY -> {
+                    writeVarInt(this.out, (int) a);
+                    writeVarInt(this.out, (int) b);
+                    writeSignedVarInt(this.out, (int) (c >> 32));
+                }
+                case ELIMINATION -> {
+                    writeVarInt(this.out, (int) a);
+                    writeSignedVarInt(this.out, (int) b);
+                }
+            }
+        }
+    }
+}
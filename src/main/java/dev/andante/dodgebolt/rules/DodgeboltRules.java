@@ -0,0 +1,251 @@
+package dev.andante.dodgebolt.rules;
+
+/**
+ * The rules of a match, free of any world or server so they can be driven by a live game or simulated headlessly.
+ * Each call to {@link #tick()} is one game tick, and everything the rules decide is reported to a {@link Listener}.
+ */
+public class DodgeboltRules {
+    public static final int TICKS_PER_SECOND = 20;
+    public static final int WINNING_SCORE = 3;
+    public static final int COUNTDOWN_SECONDS = 15;
+    public static final int COUNTDOWN_TITLE_SECONDS = 10;
+    public static final int INTERMISSION_SECONDS = 5;
+    public static final int GAME_OVER_SECONDS = 10;
+    public static final int DECAY_INTERVAL_SECONDS = 20;
+
+    private final TimerWheel timers;
+    private final TimerWheel.Timer countdownTimer, startTimer, decayTimer, nextRoundTimer, gameOverTimer;
+    private final EdgeDecay decay;
+    private final Listener listener;
+
+    private RoundStage stage;
+    private long stageStart;
+    private int round;
+    private int scoreAlpha, scoreBeta;
+    private int aliveAlpha, aliveBeta;
+    private int countdown;
+    private boolean over;
+
+    public DodgeboltRules(int layerCount, Listener listener) {
+        this.timers = new TimerWheel();
+        this.decay = new EdgeDecay(layerCount, this.timers, listener);
+        this.listener = listener;
+
+        // every timer is made once and rescheduled, so a round allocates nothing
+        this.countdownTimer = this.timers.timer(this::countdown);
+        this.startTimer = this.timers.timer(this::startRound);
+        this.decayTimer = this.timers.timer(this.decay::queue);
+        this.nextRoundTimer = this.timers.timer(listener::onNextRound);
+        this.gameOverTimer = this.timers.timer(() -> {
+            this.over = true;
+            this.listener.onGameOver();
+        });
+    }
+
+    /**
+     * Moves to the countdown of the next round with every player alive.
+     */
+    public void triggerRound(int alpha, int beta) {
+        this.round++;
+        this.changeStage(RoundStage.PRE);
+        this.decay.reset();
+        this.aliveAlpha = alpha;
+        this.aliveBeta = beta;
+
+        this.countdown = COUNTDOWN_TITLE_SECONDS;
+        this.countdownTimer.scheduleRepeating((COUNTDOWN_SECONDS - COUNTDOWN_TITLE_SECONDS) * TICKS_PER_SECOND, TICKS_PER_SECOND);
+        this.startTimer.schedule(COUNTDOWN_SECONDS * TICKS_PER_SECOND);
+    }
+
+    private void countdown() {
+        this.listener.onCountdown(this.countdown);
+        if (--this.countdown == 0) {
+            this.countdownTimer.cancel();
+        }
+    }
+
+    /**
+     * Checks for the end of a round in play, then advances the timers of the current stage.
+     */
+    public void tick() {
+        if (this.over) {
+            return;
+        }
+
+        RoundStage stage = this.stage;
+        if (stage == RoundStage.IN_GAME) {
+            if (this.aliveAlpha <= 0 || this.aliveBeta <= 0) {
+                this.endRound(this.aliveAlpha > this.aliveBeta ? Side.ALPHA : Side.BETA);
+            } else {
+                this.listener.onPlayTick();
+            }
+        }
+
+        this.timers.tick();
+
+        if (stage == RoundStage.POST && this.stage == RoundStage.POST) {
+            this.listener.onIntermissionTick();
+        }
+    }
+
+    private void startRound() {
+        this.changeStage(RoundStage.IN_GAME);
+        this.decayTimer.scheduleRepeating(DECAY_INTERVAL_SECONDS * TICKS_PER_SECOND, DECAY_INTERVAL_SECONDS * TICKS_PER_SECOND);
+        this.decay.start();
+        this.listener.onRoundStart();
+    }
+
+    private void endRound(Side winner) {
+        if (winner == Side.ALPHA) {
+            this.scoreAlpha++;
+        } else {
+            this.scoreBeta++;
+        }
+
+        boolean gameOver = this.scoreAlpha >= WINNING_SCORE || this.scoreBeta >= WINNING_SCORE;
+        this.changeStage(gameOver ? RoundStage.END : RoundStage.POST);
+        this.decay.stop();
+        if (gameOver) {
+            this.gameOverTimer.schedule(GAME_OVER_SECONDS * TICKS_PER_SECOND);
+        } else {
+            this.nextRoundTimer.schedule(INTERMISSION_SECONDS * TICKS_PER_SECOND);
+        }
+        this.listener.onRoundEnd(winner, gameOver);
+    }
+
+    /**
+     * Cancels every timer of the previous stage.
+     */
+    private void changeStage(RoundStage stage) {
+        RoundStage previous = this.stage;
+        this.stage = stage;
+        this.timers.clear();
+        this.stageStart = this.timers.getTime();
+        this.listener.onStageChange(previous, stage);
+    }
+
+    /**
+     * Takes a player out of the alive count of their side.
+     */
+    public void removeAlive(Side side) {
+        if (side == Side.ALPHA) {
+            this.aliveAlpha--;
+        } else {
+            this.aliveBeta--;
+        }
+    }
+
+    /**
+     * Queues the next decay layer, as happens on every elimination.
+     */
+    public void queueDecay() {
+        this.decay.queue();
+    }
+
+    /**
+     * @return whether one side is down to its last player against more than one
+     */
+    public boolean isLastStand() {
+        return (this.aliveAlpha == 1 && this.aliveBeta > 1) || (this.aliveBeta == 1 && this.aliveAlpha > 1);
+    }
+
+    /**
+     * @return the damage dealt each tick to a player the given distance past the half line
+     */
+    public static float getHalfLinePenalty(double overshoot) {
+        float diff = (float) overshoot;
+        return (diff * diff) / 2.5F;
+    }
+
+    public RoundStage getStage() {
+        return this.stage;
+    }
+
+    public int getRound() {
+        return this.round;
+    }
+
+    /**
+     * @return the ticks since the current stage began
+     */
+    public int getTick() {
+        return (int) (this.timers.getTime() - this.stageStart);
+    }
+
+    public int getScore(Side side) {
+        return side == Side.ALPHA ? this.scoreAlpha : this.scoreBeta;
+    }
+
+    public int getAlive(Side side) {
+        return side == Side.ALPHA ? this.aliveAlpha : this.aliveBeta;
+    }
+
+    /**
+     * @return the side ahead on score, beta on a tie
+     */
+    public Side getLeader() {
+        return this.scoreAlpha > this.scoreBeta ? Side.ALPHA : Side.BETA;
+    }
+
+    public EdgeDecay getDecay() {
+        return this.decay;
+    }
+
+    public TimerWheel getTimers() {
+        return this.timers;
+    }
+
+    /**
+     * @return whether the match has finished, after which ticking does nothing
+     */
+    public boolean isOver() {
+        return this.over;
+    }
+
+    public interface Listener {
+        default void onStageChange(RoundStage previous, RoundStage stage) {
+        }
+
+        default void onCountdown(int seconds) {
+        }
+
+        default void onRoundStart() {
+        }
+
+        /**
+         * Called every tick of a round in play, before the timers of the tick run.
+         */
+        default void onPlayTick() {
+        }
+
+        default void onRoundEnd(Side winner, boolean gameOver) {
+        }
+
+        default void onIntermissionTick() {
+        }
+
+        /**
+         * Called once the intermission is over. The driver should then {@linkplain #triggerRound trigger the next round}.
+         */
+        default void onNextRound() {
+        }
+
+        default void onGameOver() {
+        }
+
+        default void onDecayWarning() {
+        }
+
+        /**
+         * Called every flash of the layers from {@code from} up to but excluding {@code to}.
+         */
+        default void onDecayFlash(int from, int to) {
+        }
+
+        /**
+         * Called once the layers from {@code from} up to but excluding {@code to} have finished flashing.
+         */
+        default void onDecayRemove(int from, int to) {
+        }
+    }
+}
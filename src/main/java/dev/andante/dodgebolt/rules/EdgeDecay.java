@@ -0,0 +1,96 @@
+package dev.andante.dodgebolt.rules;
+
+/**
+ * When the layers of the arena floor decay. Queued layers are announced on the next tick, flash for {@link #DURATION} ticks,
+ * then are removed. Every step is a timer on the wheel of the rules, so nothing runs between steps.
+ */
+public class EdgeDecay {
+    public static final int DURATION = 3 * 20;
+    public static final int FLASH_INTERVAL = DURATION / 10;
+    public static final int MAX_LAYERS = 8;
+
+    private final int maxLayers;
+    private final DodgeboltRules.Listener listener;
+    private final TimerWheel.Timer warning, flash, removal;
+
+    private int desired, flashing, stage;
+    private boolean active;
+
+    public EdgeDecay(int layerCount, TimerWheel timers, DodgeboltRules.Listener listener) {
+        this.maxLayers = Math.min(MAX_LAYERS, layerCount);
+        this.listener = listener;
+        this.warning = timers.timer(this::warn);
+        this.flash = timers.timer(() -> this.listener.onDecayFlash(this.stage, this.flashing));
+        this.removal = timers.timer(this::remove);
+    }
+
+    public void reset() {
+        this.stop();
+        this.desired = 0;
+        this.flashing = 0;
+        this.stage = 0;
+    }
+
+    /**
+     * Starts carrying out queued layers, including any queued before.
+     */
+    public void start() {
+        this.active = true;
+        this.scheduleWarning();
+    }
+
+    /**
+     * Cancels every pending step, keeping the layers decayed so far.
+     */
+    public void stop() {
+        this.active = false;
+        this.warning.cancel();
+        this.flash.cancel();
+        this.removal.cancel();
+    }
+
+    public void add(int rows) {
+        this.desired = Math.min(this.desired + rows, this.maxLayers);
+        this.scheduleWarning();
+    }
+
+    public void queue() {
+        this.add(this.desired == 0 ? 2 : 1);
+    }
+
+    private void scheduleWarning() {
+        if (this.active && !this.warning.isPending() && this.flashing == this.stage && this.desired != this.stage) {
+            this.warning.schedule(1);
+        }
+    }
+
+    private void warn() {
+        this.flashing = this.desired;
+        this.listener.onDecayWarning();
+        this.flash.scheduleRepeating(1, FLASH_INTERVAL);
+        // the tick after the last flash
+        this.removal.schedule(DURATION + 2);
+    }
+
+    private void remove() {
+        this.flash.cancel();
+
+        this.listener.onDecayRemove(this.stage, this.flashing);
+        this.stage = this.flashing;
+        this.scheduleWarning();
+    }
+
+    /**
+     * @return the number of layers removed so far
+     */
+    public int getDecayed() {
+        return this.stage;
+    }
+
+    /**
+     * @return the number of layers queued to be removed, including those already removed
+     */
+    public int getTarget() {
+        return this.desired;
+    }
+}
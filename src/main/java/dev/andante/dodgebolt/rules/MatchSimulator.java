@@ -0,0 +1,225 @@
+package dev.andante.dodgebolt.rules;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Plays headless matches of the {@link DodgeboltRules rules} in parallel, for balance experiments and reproducible runs.
+ * Every match is seeded from the batch seed and its index, so a batch has the same outcome however it is split across cores.
+ */
+public class MatchSimulator {
+    private final Settings settings;
+    private final Script script;
+
+    public MatchSimulator(Settings settings, Script script) {
+        this.settings = settings;
+        this.script = script;
+    }
+
+    public MatchSimulator(Settings settings) {
+        this(settings, Script.random());
+    }
+
+    public Summary run(int matches, long seed) {
+        return IntStream.range(0, matches)
+                        .parallel()
+                        .mapToObj(i -> this.play(mix(seed, i)))
+                        .collect(Summary::new, Summary::add, Summary::combine);
+    }
+
+    public Result play(long seed) {
+        Match match = new Match(this.settings, new SplittableRandom(seed));
+        DodgeboltRules rules = match.rules;
+        rules.triggerRound(this.settings.alphaPlayers(), this.settings.betaPlayers());
+
+        int ticks = 0;
+        while (!rules.isOver() && ticks < this.settings.maxTicks()) {
+            if (rules.getStage() == RoundStage.IN_GAME) {
+                this.script.tick(match);
+            }
+
+            rules.tick();
+            ticks++;
+        }
+
+        Side winner = rules.isOver() ? rules.getLeader() : null;
+        return new Result(winner, rules.getScore(Side.ALPHA), rules.getScore(Side.BETA), rules.getRound(), ticks);
+    }
+
+    private static long mix(long seed, int index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Usage: {@code <matches> [alpha players] [beta players] [seed]}
+     */
+    public static void main(String[] args) {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int alpha = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int beta = args.length > 2 ? Integer.parseInt(args[2]) : alpha;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0L;
+
+        MatchSimulator simulator = new MatchSimulator(Settings.of(alpha, beta));
+        long start = System.nanoTime();
+        Summary summary = simulator.run(matches, seed);
+        double seconds = (System.nanoTime() - start) / 1.0E9D;
+
+        System.out.println(summary);
+        System.out.printf("%d matches in %.2fs (%.0f matches/s)%n", matches, seconds, matches / seconds);
+    }
+
+    /**
+     * @param hitChanceAlpha the chance each tick that a single alpha player eliminates a beta player
+     * @param hitChanceBeta the chance each tick that a single beta player eliminates an alpha player
+     * @param fallChance the chance each tick that a player falls, per decayed layer
+     * @param layerCount the number of decay layers of the arena floor
+     * @param maxTicks the ticks after which a match is abandoned
+     */
+    public record Settings(int alphaPlayers, int betaPlayers, double hitChanceAlpha, double hitChanceBeta, double fallChance, int layerCount, int maxTicks) {
+        public static final double DEFAULT_HIT_CHANCE = 0.002D;
+        public static final double DEFAULT_FALL_CHANCE = 0.0005D;
+        public static final int DEFAULT_LAYER_COUNT = 15;
+        public static final int DEFAULT_MAX_TICKS = 60 * 60 * DodgeboltRules.TICKS_PER_SECOND;
+
+        public static Settings of(int alphaPlayers, int betaPlayers) {
+            return new Settings(alphaPlayers, betaPlayers, DEFAULT_HIT_CHANCE, DEFAULT_HIT_CHANCE, DEFAULT_FALL_CHANCE, DEFAULT_LAYER_COUNT, DEFAULT_MAX_TICKS);
+        }
+    }
+
+    /**
+     * Decides the eliminations of a simulated match, called every tick of a round in play.
+     */
+    @FunctionalInterface
+    public interface Script {
+        void tick(Match match);
+
+        /**
+         * Every alive player may hit an opponent each tick, and may fall once the floor has decayed.
+         */
+        static Script random() {
+            return match -> {
+                Settings settings = match.getSettings();
+                DodgeboltRules rules = match.getRules();
+                int decayed = rules.getDecay().getDecayed();
+                for (Side side : Side.values()) {
+                    double hitChance = side == Side.ALPHA ? settings.hitChanceAlpha() : settings.hitChanceBeta();
+                    for (int i = rules.getAlive(side); i > 0; i--) {
+                        if (match.getRandom().nextDouble() < hitChance) {
+                            match.eliminate(side.getOpposite());
+                        }
+
+                        if (decayed > 0 && match.getRandom().nextDouble() < settings.fallChance() * decayed) {
+                            match.eliminate(side);
+                        }
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * One simulated match, which is also the rules listener that triggers each following round.
+     */
+    public static class Match implements DodgeboltRules.Listener {
+        private final Settings settings;
+        private final SplittableRandom random;
+        private final DodgeboltRules rules;
+
+        private Match(Settings settings, SplittableRandom random) {
+            this.settings = settings;
+            this.random = random;
+            this.rules = new DodgeboltRules(settings.layerCount(), this);
+        }
+
+        /**
+         * Eliminates a player of the given side, if any are left.
+         */
+        public void eliminate(Side side) {
+            if (this.rules.getAlive(side) > 0) {
+                this.rules.removeAlive(side);
+                this.rules.queueDecay();
+            }
+        }
+
+        @Override
+        public void onNextRound() {
+            this.rules.triggerRound(this.settings.alphaPlayers(), this.settings.betaPlayers());
+        }
+
+        public Settings getSettings() {
+            return this.settings;
+        }
+
+        public SplittableRandom getRandom() {
+            return this.random;
+        }
+
+        public DodgeboltRules getRules() {
+            return this.rules;
+        }
+    }
+
+    /**
+     * @param winner the winning side, or {@code null} if the match was abandoned
+     */
+    public record Result(Side winner, int scoreAlpha, int scoreBeta, int rounds, int ticks) {
+    }
+
+    public static class Summary {
+        private int matches, alphaWins, betaWins, abandoned;
+        private long rounds, ticks;
+
+        public void add(Result result) {
+            this.matches++;
+            if (result.winner() == Side.ALPHA) {
+                this.alphaWins++;
+            } else if (result.winner() == Side.BETA) {
+                this.betaWins++;
+            } else {
+                this.abandoned++;
+            }
+
+            this.rounds += result.rounds();
+            this.ticks += result.ticks();
+        }
+
+        public void combine(Summary other) {
+            this.matches += other.matches;
+            this.alphaWins += other.alphaWins;
+            this.betaWins += other.betaWins;
+            this.abandoned += other.abandoned;
+            this.rounds += other.rounds;
+            this.ticks += other.ticks;
+        }
+
+        public int getMatches() {
+            return this.matches;
+        }
+
+        public int getWins(Side side) {
+            return side == Side.ALPHA ? this.alphaWins : this.betaWins;
+        }
+
+        public int getAbandoned() {
+            return this.abandoned;
+        }
+
+        public double getAverageRounds() {
+            return this.matches == 0 ? 0.0D : (double) this.rounds / this.matches;
+        }
+
+        public double getAverageTicks() {
+            return this.matches == 0 ? 0.0D : (double) this.ticks / this.matches;
+        }
+
+        @Override
+        public String toString() {
+            return "%d matches: alpha %d, beta %d, abandoned %d, %.2f rounds and %.0f ticks on average".formatted(
+                    this.matches, this.alphaWins, this.betaWins, this.abandoned, this.getAverageRounds(), this.getAverageTicks()
+            );
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package dev.andante.dodgebolt.rules;
+
+public enum RoundStage {
+    PRE,
+    IN_GAME,
+    POST,
+    END
+}
@@ -0,0 +1,20 @@
+package dev.andante.dodgebolt.rules;
+
+/**
+ * One of the two teams of a match. Alpha holds the half of the arena below the half line.
+ */
+public enum Side {
+    ALPHA,
+    BETA;
+
+    public Side getOpposite() {
+        return this == ALPHA ? BETA : ALPHA;
+    }
+
+    /**
+     * @return how far past the half line the given position is into the opposing half, negative while on this side's own half
+     */
+    public double getOvershoot(double z, double midZ) {
+        return this == ALPHA ? z - midZ : midZ - z;
+    }
+}
@@ -0,0 +1,270 @@
+package dev.andante.dodgebolt.rules;
+
+/**
+ * A hierarchical timer wheel counting in ticks. Scheduling and cancelling are O(1), and a tick with nothing due
+ * only looks at one empty slot, so a game costs nothing while it waits.
+ *
+ * <p>Each of the {@value #LEVELS} levels has {@value #SLOTS} slots, and a slot of one level spans a whole turn of the level below.
+ * A timer sits on the lowest level where its deadline shares every higher digit with the current tick,
+ * and moves down a level each time the wheel reaches its slot. Deadlines beyond the top level wait in an overflow list.</p>
+ *
+ * <p>Timers that run again and again should be made once with {@link #timer} and rescheduled, so the wheel allocates nothing.</p>
+ */
+public class TimerWheel {
+    public static final int BITS = 6;
+    public static final int SLOTS = 1 << BITS;
+    public static final int LEVELS = 4;
+
+    private static final int MASK = SLOTS - 1;
+
+    private final Timer[][] slots;
+    private final long[] occupied;
+    private Timer overflow;
+    private long now;
+    private int size;
+
+    public TimerWheel() {
+        this.slots = new Timer[LEVELS][SLOTS];
+        this.occupied = new long[LEVELS];
+    }
+
+    /**
+     * @return a timer for the given task on this wheel, not yet scheduled
+     */
+    public Timer timer(Runnable task) {
+        return new Timer(this, task);
+    }
+
+    /**
+     * Runs the given task after the given number of ticks, at least one.
+     */
+    public Timer schedule(int delay, Runnable task) {
+        Timer timer = this.timer(task);
+        timer.schedule(delay);
+        return timer;
+    }
+
+    /**
+     * Runs the given task every {@code interval} ticks, first after {@code delay} ticks, until cancelled.
+     */
+    public Timer scheduleRepeating(int delay, int interval, Runnable task) {
+        Timer timer = this.timer(task);
+        timer.scheduleRepeating(delay, interval);
+        return timer;
+    }
+
+    /**
+     * Advances one tick and runs every task due on it, in no particular order.
+     */
+    public void tick() {
+        long now = ++this.now;
+        if ((now & MASK) == 0) {
+            this.cascade(now);
+        }
+
+        int slot = (int) (now & MASK);
+        if ((this.occupied[0] & (1L << slot)) == 0) {
+            return;
+        }
+
+        Timer[] level = this.slots[0];
+        Timer timer;
+        while ((timer = level[slot]) != null) {
+            this.unlink(timer);
+            if (timer.interval > 0) {
+                timer.deadline = now + timer.interval;
+                this.insert(timer);
+            } else {
+                timer.pending = false;
+                this.size--;
+            }
+            timer.task.run();
+        }
+    }
+
+    /**
+     * Moves the timers of the slots reached on this tick down, highest level first.
+     */
+    private void cascade(long now) {
+        int level = 1;
+        while (level < LEVELS && (now & ((1L << (BITS * level)) - 1)) == 0) {
+            level++;
+        }
+
+        if (level == LEVELS) {
+            Timer timer = this.overflow;
+            this.overflow = null;
+            this.reinsert(timer);
+        }
+
+        for (int i = level - 1; i > 0; i--) {
+            int slot = (int) ((now >>> (BITS * i)) & MASK);
+            Timer timer = this.slots[i][slot];
+            this.slots[i][slot] = null;
+            this.occupied[i] &= ~(1L << slot);
+            this.reinsert(timer);
+        }
+    }
+
+    private void reinsert(Timer timer) {
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.previous = null;
+            timer.next = null;
+            this.insert(timer);
+            timer = next;
+        }
+    }
+
+    private void insert(Timer timer) {
+        long deadline = timer.deadline;
+        int level = 0;
+        while (level < LEVELS && (deadline >>> (BITS * (level + 1))) != (this.now >>> (BITS * (level + 1)))) {
+            level++;
+        }
+
+        timer.level = level;
+        if (level == LEVELS) {
+            timer.slot = -1;
+            timer.next = this.overflow;
+            this.overflow = timer;
+        } else {
+            int slot = (int) ((deadline >>> (BITS * level)) & MASK);
+            timer.slot = slot;
+            timer.next = this.slots[level][slot];
+            this.slots[level][slot] = timer;
+            this.occupied[level] |= 1L << slot;
+        }
+
+        if (timer.next != null) {
+            timer.next.previous = timer;
+        }
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else if (timer.level == LEVELS) {
+            this.overflow = timer.next;
+        } else {
+            this.slots[timer.level][timer.slot] = timer.next;
+            if (timer.next == null) {
+                this.occupied[timer.level] &= ~(1L << timer.slot);
+            }
+        }
+
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+
+        timer.previous = null;
+        timer.next = null;
+    }
+
+    /**
+     * Cancels every pending timer.
+     */
+    public void clear() {
+        if (this.size == 0) {
+            return;
+        }
+
+        for (int i = 0; i < LEVELS; i++) {
+            Timer[] level = this.slots[i];
+            for (long bits = this.occupied[i]; bits != 0; bits &= bits - 1) {
+                int slot = Long.numberOfTrailingZeros(bits);
+                this.release(level[slot]);
+                level[slot] = null;
+            }
+            this.occupied[i] = 0;
+        }
+
+        this.release(this.overflow);
+        this.overflow = null;
+        this.size = 0;
+    }
+
+    private void release(Timer timer) {
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.pending = false;
+            timer.previous = null;
+            timer.next = null;
+            timer = next;
+        }
+    }
+
+    /**
+     * @return the ticks advanced so far
+     */
+    public long getTime() {
+        return this.now;
+    }
+
+    /**
+     * @return the number of pending timers
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public static final class Timer {
+        private final TimerWheel wheel;
+        private final Runnable task;
+        private boolean pending;
+        private Timer previous, next;
+        private long deadline;
+        private int interval;
+        private int level, slot;
+
+        private Timer(TimerWheel wheel, Runnable task) {
+            this.wheel = wheel;
+            this.task = task;
+        }
+
+        /**
+         * Runs the task after the given number of ticks, at least one, replacing any pending run.
+         */
+        public void schedule(int delay) {
+            this.cancel();
+            this.deadline = this.wheel.now + Math.max(1, delay);
+            this.interval = 0;
+            this.pending = true;
+            this.wheel.insert(this);
+            this.wheel.size++;
+        }
+
+        /**
+         * Runs the task every {@code interval} ticks, first after {@code delay} ticks, until cancelled.
+         */
+        public void scheduleRepeating(int delay, int interval) {
+            this.schedule(delay);
+            this.interval = Math.max(1, interval);
+        }
+
+        /**
+         * @return whether the timer was still pending
+         */
+        public boolean cancel() {
+            if (!this.pending) {
+                return false;
+            }
+
+            this.wheel.unlink(this);
+            this.wheel.size--;
+            this.pending = false;
+            return true;
+        }
+
+        public boolean isPending() {
+            return this.pending;
+        }
+
+        /**
+         * @return the tick the timer runs on next
+         */
+        public long getDeadline() {
+            return this.deadline;
+        }
+    }
+}
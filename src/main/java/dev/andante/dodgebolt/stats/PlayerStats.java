@@ -0,0 +1,35 @@
+package dev.andante.dodgebolt.stats;
+
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of the statistics of a player, indexed by {@link StatType}.
+ */
+public final class PlayerStats {
+    public static final PlayerStats EMPTY = new PlayerStats(new int[StatType.values().length]);
+
+    private final int[] values;
+
+    private PlayerStats(int[] values) {
+        this.values = values;
+    }
+
+    public static PlayerStats of(int[] values) {
+        return new PlayerStats(Arrays.copyOf(values, StatType.values().length));
+    }
+
+    public int get(StatType type) {
+        return this.values[type.ordinal()];
+    }
+
+    public PlayerStats plus(StatType type, int amount) {
+        int[] values = this.values.clone();
+        values[type.ordinal()] += amount;
+        return new PlayerStats(values);
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerStats" + Arrays.toString(this.values);
+    }
+}
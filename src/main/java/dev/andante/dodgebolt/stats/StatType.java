@@ -0,0 +1,11 @@
+package dev.andante.dodgebolt.stats;
+
+/**
+ * The ordinal is the id written to disk, so new types go at the end.
+ */
+public enum StatType {
+    KILLS,
+    DEATHS,
+    ROUND_WINS,
+    MATCH_WINS
+}
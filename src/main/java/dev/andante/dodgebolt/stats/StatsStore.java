@@ -0,0 +1,315 @@
+package dev.andante.dodgebolt.stats;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per player statistics, kept on disk as a snapshot sorted by uuid plus an append-only log of increments since.
+ *
+ * <p>Reads and increments happen on the server thread against an in-memory cache only.
+ * Increments are handed to a writer thread through a lock-free queue, which appends them to the log in batches
+ * and folds the log into a new snapshot once it grows past {@link #COMPACT_THRESHOLD} records.</p>
+ *
+ * <p>Each compaction bumps the generation stored in the snapshot, and a log only counts on top of the snapshot
+ * of its own generation, so a log left behind after its snapshot was written is never counted twice.</p>
+ */
+public class StatsStore {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    public static final long FLUSH_INTERVAL_MILLIS = 1000L;
+    public static final int COMPACT_THRESHOLD = 1 << 16;
+
+    private static final int SNAPSHOT_MAGIC = 0x44425332;
+    private static final int LOG_MAGIC = 0x44424C47;
+    private static final String SNAPSHOT_FILE = "stats.dat";
+    private static final String LOG_FILE = "stats.log";
+
+    private final Path snapshotPath, logPath;
+    private final Map<UUID, PlayerStats> cache;
+    private final Queue<Update> pending;
+    private final ScheduledExecutorService writer;
+
+    /**
+     * The totals as written to disk, owned by the writer thread.
+     */
+    private final Map<UUID, int[]> totals;
+    private DataOutputStream log;
+    private int logRecords;
+    private int generation;
+
+    private StatsStore(Path directory, Map<UUID, int[]> totals, int generation, boolean persistent) {
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.logPath = directory.resolve(LOG_FILE);
+        this.cache = new Object2ObjectOpenHashMap<>();
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.totals = totals;
+        this.generation = generation;
+        totals.forEach((uuid, values) -> this.cache.put(uuid, PlayerStats.of(values)));
+
+        if (persistent) {
+            this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Dodgebolt Stats Writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.writer.execute(this::compact);
+            this.writer.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Loads the store from the given directory. If it cannot be read, the store is kept in memory only
+     * rather than overwriting what is there.
+     */
+    public static StatsStore open(Path directory) {
+        Map<UUID, int[]> totals = new Object2ObjectOpenHashMap<>();
+        int generation;
+        try {
+            Files.createDirectories(directory);
+            generation = readSnapshot(directory.resolve(SNAPSHOT_FILE), totals);
+            readLog(directory.resolve(LOG_FILE), generation, totals);
+        } catch (IOException exception) {
+            LOGGER.error("Failed to load statistics from {}, they will not be saved", directory, exception);
+            return new StatsStore(directory, totals, 0, false);
+        }
+
+        LOGGER.info("Loaded statistics of {} players", totals.size());
+        return new StatsStore(directory, totals, generation, true);
+    }
+
+    public PlayerStats get(UUID player) {
+        return this.cache.getOrDefault(player, PlayerStats.EMPTY);
+    }
+
+    public void increment(UUID player, StatType type) {
+        this.increment(player, type, 1);
+    }
+
+    /**
+     * Called on the server thread.
+     */
+    public void increment(UUID player, StatType type, int amount) {
+        this.cache.put(player, this.get(player).plus(type, amount));
+        if (this.writer != null) {
+            this.pending.offer(new Update(player, type, amount));
+        }
+    }
+
+    /**
+     * Writes everything pending and stops the writer, waiting a short while for it to finish.
+     */
+    public void close() {
+        if (this.writer != null) {
+            this.writer.execute(() -> {
+                this.flush();
+                this.closeLog();
+            });
+            this.writer.shutdown();
+            try {
+                if (!this.writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                    LOGGER.warn("Timed out saving statistics");
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void flush() {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (this.log == null) {
+                this.openLog();
+            }
+
+            Update update;
+            while ((update = this.pending.poll()) != null) {
+                this.log.writeLong(update.player().getMostSignificantBits());
+                this.log.writeLong(update.player().getLeastSignificantBits());
+                this.log.writeByte(update.type().ordinal());
+                this.log.writeInt(update.amount());
+                this.totals.computeIfAbsent(update.player(), uuid -> new int[StatType.values().length])[update.type().ordinal()] += update.amount();
+                this.logRecords++;
+            }
+
+            this.log.flush();
+        } catch (IOException exception) {
+            LOGGER.error("Failed to write statistics", exception);
+        }
+
+        if (this.logRecords >= COMPACT_THRESHOLD) {
+            this.compact();
+        }
+    }
+
+    private void openLog() throws IOException {
+        // left behind by a compaction that failed to delete it, and already part of the snapshot
+        if (Files.exists(this.logPath) && readLogGeneration(this.logPath) != this.generation) {
+            Files.delete(this.logPath);
+        }
+
+        boolean created = Files.notExists(this.logPath);
+        this.log = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.logPath, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        if (created) {
+            this.log.writeInt(LOG_MAGIC);
+            this.log.writeInt(this.generation);
+        }
+    }
+
+    /**
+     * Writes the totals as a snapshot of the next generation and empties the log.
+     */
+    private void compact() {
+        List<Map.Entry<UUID, int[]>> entries = new ArrayList<>(this.totals.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+
+        Path temporary = this.snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(this.generation + 1);
+                out.writeByte(StatType.values().length);
+                out.writeInt(entries.size());
+                for (Map.Entry<UUID, int[]> entry : entries) {
+                    out.writeLong(entry.getKey().getMostSignificantBits());
+                    out.writeLong(entry.getKey().getLeastSignificantBits());
+                    for (int value : entry.getValue()) {
+                        out.writeInt(value);
+                    }
+                }
+            }
+
+            Files.move(temporary, this.snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.generation++;
+
+            // from here the log is of an older generation than the snapshot, and ignored if the server stops before it is gone
+            this.closeLog();
+            Files.deleteIfExists(this.logPath);
+            this.logRecords = 0;
+        } catch (IOException exception) {
+            LOGGER.error("Failed to compact statistics", exception);
+        }
+    }
+
+    private void closeLog() {
+        if (this.log != null) {
+            try {
+                this.log.close();
+            } catch (IOException exception) {
+                LOGGER.error("Failed to close statistics log", exception);
+            }
+
+            this.log = null;
+        }
+    }
+
+    /**
+     * @return the generation of the snapshot, or 0 if there is none
+     */
+    private static int readSnapshot(Path path, Map<UUID, int[]> totals) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a statistics snapshot: " + path);
+            }
+
+            int generation = in.readInt();
+            int types = in.readUnsignedByte();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                int[] values = new int[StatType.values().length];
+                for (int type = 0; type < types; type++) {
+                    int value = in.readInt();
+                    if (type < values.length) {
+                        values[type] = value;
+                    }
+                }
+                totals.put(uuid, values);
+            }
+
+            return generation;
+        }
+    }
+
+    private static void readLog(Path path, int snapshotGeneration, Map<UUID, int[]> totals) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != LOG_MAGIC) {
+                throw new IOException("Not a statistics log: " + path);
+            }
+
+            int generation = in.readInt();
+            if (generation < snapshotGeneration) {
+                // already folded into the snapshot by a compaction that stopped before deleting the log
+                return;
+            } else if (generation > snapshotGeneration) {
+                throw new IOException("Statistics log " + path + " is newer than its snapshot");
+            }
+
+            int types = StatType.values().length;
+            while (true) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                int id = in.readUnsignedByte();
+                if (id >= types) {
+                    throw new IOException("Unknown stat " + id + " in " + path);
+                }
+
+                int amount = in.readInt();
+                totals.computeIfAbsent(uuid, key -> new int[types])[id] += amount;
+            }
+        } catch (EOFException ignored) {
+            // the end of the log, or a record cut short by a crash, which the next compaction drops
+        }
+    }
+
+    /**
+     * @return the generation of the log, or -1 if its header was cut short
+     */
+    private static int readLogGeneration(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            if (in.readInt() != LOG_MAGIC) {
+                throw new IOException("Not a statistics log: " + path);
+            }
+
+            return in.readInt();
+        } catch (EOFException exception) {
+            return -1;
+        }
+    }
+
+    private record Update(UUID player, StatType type, int amount) {
+    }
+}
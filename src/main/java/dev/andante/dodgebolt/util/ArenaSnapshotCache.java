@@ -0,0 +1,40 @@
+package dev.andante.dodgebolt.util;
+
+import dev.andante.dodgebolt.game.GameTeam;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The {@link SectionSnapshot} of the most recently placed team pair in every arena slot.
+ * Only one pair is kept per slot, as a slot usually hosts the same pair for every round of a game.
+ */
+public class ArenaSnapshotCache {
+    private final SectionSnapshot[] snapshots;
+    private final int[] keys;
+
+    public ArenaSnapshotCache(int slots) {
+        this.snapshots = new SectionSnapshot[slots];
+        this.keys = new int[slots];
+    }
+
+    @Nullable
+    public SectionSnapshot get(int slot, GameTeam alpha, GameTeam beta) {
+        return this.keys[slot] == getKey(alpha, beta) ? this.snapshots[slot] : null;
+    }
+
+    public void put(int slot, GameTeam alpha, GameTeam beta, SectionSnapshot snapshot) {
+        this.snapshots[slot] = snapshot;
+        this.keys[slot] = getKey(alpha, beta);
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.snapshots.length; i++) {
+            this.snapshots[i] = null;
+            this.keys[i] = 0;
+        }
+    }
+
+    private static int getKey(GameTeam alpha, GameTeam beta) {
+        // offset so that no pair has the key of an empty slot
+        return 1 + alpha.ordinal() * GameTeam.values().length + beta.ordinal();
+    }
+}
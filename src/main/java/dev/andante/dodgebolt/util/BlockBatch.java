@@ -0,0 +1,154 @@
+package dev.andante.dodgebolt.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
+import it.unimi.dsi.fastutil.shorts.Short2ObjectMaps;
+import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.network.packet.s2c.play.ChunkDeltaUpdateS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.chunk.light.LightingProvider;
+
+import java.util.Map;
+
+/**
+ * Collects block changes and applies them per chunk section, sending a single delta packet for each section.
+ */
+public class BlockBatch {
+    /**
+     * Applies changes without neighbor or lighting updates.
+     */
+    public static final int SILENT = 0;
+
+    /**
+     * Notifies the neighbors of every changed block.
+     */
+    public static final int UPDATE_NEIGHBORS = 1;
+
+    /**
+     * Queues a lighting check for every changed block.
+     */
+    public static final int UPDATE_LIGHT = 1 << 1;
+
+    private final ServerWorld world;
+    private final Long2ObjectMap<Short2ObjectMap<BlockState>> sections;
+
+    public BlockBatch(ServerWorld world) {
+        this.world = world;
+        this.sections = new Long2ObjectOpenHashMap<>();
+    }
+
+    public void set(BlockPos pos, BlockState state) {
+        this.set(pos.getX(), pos.getY(), pos.getZ(), state);
+    }
+
+    public void set(int x, int y, int z, BlockState state) {
+        long sectionPos = ChunkSectionPos.asLong(ChunkSectionPos.getSectionCoord(x), ChunkSectionPos.getSectionCoord(y), ChunkSectionPos.getSectionCoord(z));
+        Short2ObjectMap<BlockState> changes = this.sections.get(sectionPos);
+        if (changes == null) {
+            changes = new Short2ObjectOpenHashMap<>();
+            this.sections.put(sectionPos, changes);
+        }
+
+        changes.put(packLocal(x, y, z), state);
+    }
+
+    public boolean isEmpty() {
+        return this.sections.isEmpty();
+    }
+
+    /**
+     * Applies and clears every queued change.
+     *
+     * @param flags a combination of {@link #UPDATE_NEIGHBORS} and {@link #UPDATE_LIGHT}, or {@link #SILENT}
+     * @return the number of blocks that changed
+     */
+    public int apply(int flags) {
+        boolean updateNeighbors = (flags & UPDATE_NEIGHBORS) != 0;
+        boolean updateLight = (flags & UPDATE_LIGHT) != 0;
+        LightingProvider lightingProvider = this.world.getChunkManager().getLightingProvider();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        int changed = 0;
+        for (Long2ObjectMap.Entry<Short2ObjectMap<BlockState>> entry : Long2ObjectMaps.fastIterable(this.sections)) {
+            ChunkSectionPos sectionPos = ChunkSectionPos.from(entry.getLongKey());
+            if (this.world.isOutOfHeightLimit(sectionPos.getMinY())) {
+                continue;
+            }
+
+            WorldChunk chunk = this.world.getChunk(sectionPos.getSectionX(), sectionPos.getSectionZ());
+            ChunkSection section = chunk.getSection(this.world.sectionCoordToIndex(sectionPos.getSectionY()));
+            boolean wasEmpty = section.isEmpty();
+
+            ShortSet positions = new ShortOpenHashSet();
+            for (Short2ObjectMap.Entry<BlockState> change : Short2ObjectMaps.fastIterable(entry.getValue())) {
+                short local = change.getShortKey();
+                BlockState state = change.getValue();
+                pos.set(sectionPos.unpackBlockX(local), sectionPos.unpackBlockY(local), sectionPos.unpackBlockZ(local));
+
+                // block entities need the full vanilla path to be created and removed
+                BlockState current = section.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+                if (state.hasBlockEntity() || current.hasBlockEntity()) {
+                    if (this.world.setBlockState(pos, state, updateNeighbors ? Block.NOTIFY_ALL : Block.NOTIFY_LISTENERS)) {
+                        changed++;
+                    }
+                    continue;
+                }
+
+                BlockState previous = section.setBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15, state);
+                if (previous == state) {
+                    continue;
+                }
+
+                positions.add(local);
+                changed++;
+
+                for (Map.Entry<Heightmap.Type, Heightmap> heightmap : chunk.getHeightmaps()) {
+                    heightmap.getValue().trackUpdate(pos.getX() & 15, pos.getY(), pos.getZ() & 15, state);
+                }
+
+                if (updateLight) {
+                    lightingProvider.checkBlock(pos);
+                }
+
+                if (updateNeighbors) {
+                    this.world.updateNeighbors(pos, state.getBlock());
+                }
+            }
+
+            if (positions.isEmpty()) {
+                continue;
+            }
+
+            if (updateLight && wasEmpty != section.isEmpty()) {
+                lightingProvider.setSectionStatus(sectionPos, section.isEmpty());
+            }
+
+            chunk.setNeedsSaving(true);
+
+            ChunkDeltaUpdateS2CPacket packet = new ChunkDeltaUpdateS2CPacket(sectionPos, positions, section, !updateLight);
+            for (ServerPlayerEntity player : PlayerLookup.tracking(this.world, chunk.getPos())) {
+                player.networkHandler.sendPacket(packet);
+            }
+        }
+
+        this.sections.clear();
+        return changed;
+    }
+
+    private static short packLocal(int x, int y, int z) {
+        return (short) ((x & 15) << 8 | (z & 15) << 4 | (y & 15));
+    }
+}
@@ -0,0 +1,75 @@
+package dev.andante.dodgebolt.util;
+
+import net.minecraft.network.Packet;
+import net.minecraft.network.message.ChatVisibility;
+import net.minecraft.network.packet.s2c.play.GameMessageS2CPacket;
+import net.minecraft.network.packet.s2c.play.PlaySoundS2CPacket;
+import net.minecraft.network.packet.s2c.play.StopSoundS2CPacket;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.text.Text;
+
+/**
+ * Sends a single packet instance to many players, rather than building one per recipient.
+ */
+public interface BroadcastHelper {
+    static void send(Iterable<ServerPlayerEntity> players, Packet<?> packet) {
+        for (ServerPlayerEntity player : players) {
+            player.networkHandler.sendPacket(packet);
+        }
+    }
+
+    static void send(Iterable<ServerPlayerEntity> players, Packet<?>... packets) {
+        for (ServerPlayerEntity player : players) {
+            for (Packet<?> packet : packets) {
+                player.networkHandler.sendPacket(packet);
+            }
+        }
+    }
+
+    /**
+     * Sends a system message to the players that accept one, as {@link ServerPlayerEntity#sendMessageToClient} would.
+     */
+    static void sendMessage(Iterable<ServerPlayerEntity> players, Text text) {
+        GameMessageS2CPacket packet = new GameMessageS2CPacket(text, false);
+        for (ServerPlayerEntity player : players) {
+            if (player.acceptsMessage(false)) {
+                player.networkHandler.sendPacket(packet);
+            }
+        }
+    }
+
+    /**
+     * Sends player chat to the players that have chat fully visible.
+     */
+    static void sendChatMessage(Iterable<ServerPlayerEntity> players, Text text) {
+        GameMessageS2CPacket packet = new GameMessageS2CPacket(text, false);
+        for (ServerPlayerEntity player : players) {
+            if (player.acceptsMessage(false) && player.getClientChatVisibility() == ChatVisibility.FULL) {
+                player.networkHandler.sendPacket(packet);
+            }
+        }
+    }
+
+    static PlaySoundS2CPacket createSound(RegistryEntry<SoundEvent> sound, float pitch) {
+        return new PlaySoundS2CPacket(sound, SoundCategory.VOICE, 0.0D, 0.0D, 0.0D, 1.0F, pitch, 0L);
+    }
+
+    static void playSound(Iterable<ServerPlayerEntity> players, RegistryEntry<SoundEvent> sound, float pitch) {
+        send(players, createSound(sound, pitch));
+    }
+
+    static void playSound(Iterable<ServerPlayerEntity> players, RegistryEntry<SoundEvent> sound) {
+        playSound(players, sound, 1.0F);
+    }
+
+    static void playSoundFast(Iterable<ServerPlayerEntity> players, RegistryEntry<SoundEvent> sound) {
+        playSound(players, sound, 1.2F);
+    }
+
+    static void stopMusic(Iterable<ServerPlayerEntity> players) {
+        send(players, new StopSoundS2CPacket(null, SoundCategory.VOICE));
+    }
+}
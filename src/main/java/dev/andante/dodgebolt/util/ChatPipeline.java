@@ -0,0 +1,106 @@
+package dev.andante.dodgebolt.util;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Queues chat messages and broadcasts everything from one tick as a single packet shared by all players.
+ * Senders are limited by a token bucket, so a flood is turned away before it reaches the queue.
+ */
+public class ChatPipeline {
+    /**
+     * Messages a sender can send in a burst.
+     */
+    public static final int BURST = 5;
+
+    /**
+     * Ticks to regain one message.
+     */
+    public static final int REFILL_TICKS = 20;
+
+    /**
+     * Lines in one broadcast, the rest wait for the next tick.
+     */
+    public static final int MAX_LINES_PER_TICK = 16;
+
+    private static final Text RATE_LIMITED = Text.literal("You are sending messages too quickly!").formatted(Formatting.RED);
+
+    private final ArrayDeque<Text> queue;
+    private final Map<UUID, Bucket> buckets;
+
+    public ChatPipeline() {
+        this.queue = new ArrayDeque<>();
+        this.buckets = new Object2ObjectOpenHashMap<>();
+
+        ServerTickEvents.END_SERVER_TICK.register(this::tick);
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> this.buckets.remove(handler.getPlayer().getUuid()));
+    }
+
+    /**
+     * Queues a message for the next broadcast.
+     * @return whether the sender was within their rate limit
+     */
+    public boolean submit(ServerPlayerEntity sender, Text message, int tick) {
+        Bucket bucket = this.buckets.computeIfAbsent(sender.getUuid(), uuid -> new Bucket(tick));
+        if (!bucket.tryTake(tick)) {
+            sender.sendMessage(RATE_LIMITED);
+            return false;
+        }
+
+        this.queue.add(message);
+        return true;
+    }
+
+    public int getQueued() {
+        return this.queue.size();
+    }
+
+    private void tick(MinecraftServer server) {
+        if (this.queue.isEmpty()) {
+            return;
+        }
+
+        MutableText text = Text.empty().append(this.queue.poll());
+        for (int i = 1; i < MAX_LINES_PER_TICK && !this.queue.isEmpty(); i++) {
+            text.append("\n").append(this.queue.poll());
+        }
+
+        BroadcastHelper.sendChatMessage(PlayerLookup.all(server), text);
+    }
+
+    private static class Bucket {
+        private int tokens;
+        private int lastRefill;
+
+        private Bucket(int tick) {
+            this.tokens = BURST;
+            this.lastRefill = tick;
+        }
+
+        private boolean tryTake(int tick) {
+            int refilled = (tick - this.lastRefill) / REFILL_TICKS;
+            if (refilled > 0) {
+                this.tokens = Math.min(BURST, this.tokens + refilled);
+                this.lastRefill += refilled * REFILL_TICKS;
+            }
+
+            if (this.tokens == 0) {
+                return false;
+            }
+
+            this.tokens--;
+            return true;
+        }
+    }
+}
@@ -7,6 +7,9 @@ import net.minecraft.util.math.Vec3d;
 
 import java.util.List;
 
+/**
+ * Absolute positions of the first arena slot. Every other slot is offset along the X axis by {@link #ARENA_SPACING}.
+ */
 public interface Constants {
     BlockPos SPAWN_POS = new BlockPos(8, 1, 8);
     BlockPos ARENA_SPAWN_POS = new BlockPos(8, 15, 57);
@@ -35,4 +38,8 @@ public interface Constants {
 
     BlockPos ARENA_MIN = new BlockPos(-6, 10, 61);
     BlockPos ARENA_MAX = new BlockPos(22, 10, 93);
+
+    int MAX_ARENAS = 5;
+    int ARENA_SPACING = 64;
+    int ARENA_PADDING = 16;
 }
@@ -0,0 +1,26 @@
+package dev.andante.dodgebolt.util;
+
+import dev.andante.dodgebolt.Dodgebolt;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.util.Identifier;
+
+/**
+ * Sound entries of the resource pack, created once and shared by every packet that plays them.
+ */
+public interface DodgeboltSounds {
+    RegistryEntry<SoundEvent> ADVANCE = of("advance");
+    RegistryEntry<SoundEvent> DODGEBOLT = of("dodgebolt");
+    RegistryEntry<SoundEvent> DODGEBOLT_LOOP = of("dodgebolt_loop");
+    RegistryEntry<SoundEvent> DODGEBOLT_RESUME = of("dodgebolt_resume");
+    RegistryEntry<SoundEvent> EARLY_ELIMINATION = of("early_elimination");
+    RegistryEntry<SoundEvent> GAME_END = of("game_end");
+    RegistryEntry<SoundEvent> PLATFORM_DECAY = of("platform_decay");
+    RegistryEntry<SoundEvent> START_CLAXON = of("start_claxon");
+    RegistryEntry<SoundEvent> START_CLAXON_FINAL = of("start_claxon_final");
+    RegistryEntry<SoundEvent> TEAM_ELIMINATED = of("team_eliminated");
+
+    private static RegistryEntry<SoundEvent> of(String id) {
+        return RegistryEntry.of(SoundEvent.of(new Identifier(Dodgebolt.MOD_ID, id)));
+    }
+}
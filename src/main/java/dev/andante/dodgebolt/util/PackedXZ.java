@@ -0,0 +1,18 @@
+package dev.andante.dodgebolt.util;
+
+/**
+ * Packs a horizontal block coordinate pair into a single {@code long}.
+ */
+public interface PackedXZ {
+    static long pack(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    static int getX(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    static int getZ(long packed) {
+        return (int) packed;
+    }
+}
@@ -0,0 +1,182 @@
+package dev.andante.dodgebolt.util;
+
+import com.mojang.logging.LogUtils;
+import dev.andante.dodgebolt.game.GameTeam;
+import dev.andante.dodgebolt.mixin.StructureTemplateAccessor;
+import dev.andante.dodgebolt.processor.ArenaStructureProcessor;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.structure.StructurePlacementData;
+import net.minecraft.structure.StructureTemplate;
+import net.minecraft.structure.StructureTemplate.StructureBlockInfo;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3i;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.List;
+
+/**
+ * The arena template after processing for a team pair, stored as a dense grid of the expected block states
+ * relative to the placement origin.
+ *
+ * <p>Unlike {@link StructureTemplate#place}, blocks are placed exactly as stored, so existing water never waterlogs them,
+ * and entities saved in the template are not placed, as the arena is placed again every round.</p>
+ */
+public class ProcessedArena {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private final int sizeX, sizeY, sizeZ;
+    private final BlockState[] states;
+    private final Int2ObjectMap<NbtCompound> blockEntityNbt;
+    private final int[] fluids;
+    private final int blockCount;
+
+    private ProcessedArena(Vec3i size, BlockState[] states, Int2ObjectMap<NbtCompound> blockEntityNbt, int blockCount) {
+        this.sizeX = size.getX();
+        this.sizeY = size.getY();
+        this.sizeZ = size.getZ();
+        this.states = states;
+        this.blockEntityNbt = blockEntityNbt;
+        this.blockCount = blockCount;
+
+        IntList fluids = new IntArrayList();
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] != null && !states[i].getFluidState().isEmpty()) {
+                fluids.add(i);
+            }
+        }
+        this.fluids = fluids.toIntArray();
+    }
+
+    public static ProcessedArena create(ServerWorld world, GameTeam alpha, GameTeam beta) {
+        StructureTemplate structure = StructureHelper.getStructure(world, Constants.ARENA_STRUCTURE_ID);
+        Vec3i size = structure.getSize();
+        BlockState[] states = new BlockState[size.getX() * size.getY() * size.getZ()];
+        Int2ObjectMap<NbtCompound> blockEntityNbt = new Int2ObjectOpenHashMap<>();
+
+        StructureTemplateAccessor accessor = (StructureTemplateAccessor) structure;
+        if (!accessor.getEntities().isEmpty()) {
+            LOGGER.warn("Arena template {} has {} entities, which are not placed", Constants.ARENA_STRUCTURE_ID, accessor.getEntities().size());
+        }
+
+        List<StructureTemplate.PalettedBlockInfoList> blockInfoLists = accessor.getBlockInfoLists();
+        if (blockInfoLists.isEmpty()) {
+            return new ProcessedArena(size, states, blockEntityNbt, 0);
+        }
+
+        StructurePlacementData data = new StructurePlacementData().addProcessor(new ArenaStructureProcessor(alpha, beta));
+        List<StructureBlockInfo> infos = data.getRandomBlockInfos(blockInfoLists, BlockPos.ORIGIN).getAll();
+
+        int blockCount = 0;
+        for (StructureBlockInfo info : StructureTemplate.process(world, BlockPos.ORIGIN, BlockPos.ORIGIN, data, infos)) {
+            BlockPos pos = info.pos;
+            int index = getIndex(size.getX(), size.getY(), size.getZ(), pos.getX(), pos.getY(), pos.getZ());
+            if (index != -1) {
+                states[index] = info.state;
+                blockCount++;
+
+                if (info.nbt != null) {
+                    blockEntityNbt.put(index, info.nbt);
+                }
+            }
+        }
+
+        return new ProcessedArena(size, states, blockEntityNbt, blockCount);
+    }
+
+    /**
+     * @return the state expected at the given offset from the origin, or {@code null} if the template leaves it untouched
+     */
+    @Nullable
+    public BlockState getExpected(int dx, int dy, int dz) {
+        int index = getIndex(this.sizeX, this.sizeY, this.sizeZ, dx, dy, dz);
+        return index == -1 ? null : this.states[index];
+    }
+
+    @Nullable
+    public BlockState getExpected(int index) {
+        return this.states[index];
+    }
+
+    public Vec3i getSize() {
+        return new Vec3i(this.sizeX, this.sizeY, this.sizeZ);
+    }
+
+    /**
+     * @return the number of grid cells, including those the template leaves untouched
+     */
+    public int getVolume() {
+        return this.states.length;
+    }
+
+    public int getBlockCount() {
+        return this.blockCount;
+    }
+
+    public int getX(int index) {
+        return index % this.sizeX;
+    }
+
+    public int getY(int index) {
+        return index / (this.sizeX * this.sizeZ);
+    }
+
+    public int getZ(int index) {
+        return (index / this.sizeX) % this.sizeZ;
+    }
+
+    /**
+     * Queues every block of the template at the given origin.
+     */
+    public void place(BlockBatch batch, BlockPos origin) {
+        for (int i = 0; i < this.states.length; i++) {
+            BlockState state = this.states[i];
+            if (state != null) {
+                batch.set(origin.getX() + this.getX(i), origin.getY() + this.getY(i), origin.getZ() + this.getZ(i), state);
+            }
+        }
+    }
+
+    /**
+     * Loads block entity data into a placed template and lets its fluids flow. Call after the batch from {@link #place} is applied.
+     */
+    public void finishPlacement(ServerWorld world, BlockPos origin) {
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (Int2ObjectMap.Entry<NbtCompound> entry : Int2ObjectMaps.fastIterable(this.blockEntityNbt)) {
+            int i = entry.getIntKey();
+            BlockEntity blockEntity = world.getBlockEntity(pos.set(origin.getX() + this.getX(i), origin.getY() + this.getY(i), origin.getZ() + this.getZ(i)));
+            if (blockEntity != null) {
+                // the template stores positions relative to itself
+                NbtCompound nbt = entry.getValue().copy();
+                nbt.putInt("x", pos.getX());
+                nbt.putInt("y", pos.getY());
+                nbt.putInt("z", pos.getZ());
+                blockEntity.readNbt(nbt);
+                blockEntity.markDirty();
+            }
+        }
+
+        // the batch places silently, so water and lava in the template, waterlogged or not, would otherwise stay still
+        for (int i : this.fluids) {
+            Fluid fluid = this.states[i].getFluidState().getFluid();
+            world.scheduleFluidTick(pos.set(origin.getX() + this.getX(i), origin.getY() + this.getY(i), origin.getZ() + this.getZ(i)), fluid, fluid.getTickRate(world));
+        }
+    }
+
+    private static int getIndex(int sizeX, int sizeY, int sizeZ, int dx, int dy, int dz) {
+        if (dx < 0 || dy < 0 || dz < 0 || dx >= sizeX || dy >= sizeY || dz >= sizeZ) {
+            return -1;
+        }
+
+        return dx + sizeX * (dz + sizeZ * dy);
+    }
+}
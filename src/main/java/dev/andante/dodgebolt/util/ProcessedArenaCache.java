@@ -0,0 +1,85 @@
+package dev.andante.dodgebolt.util;
+
+import dev.andante.dodgebolt.game.GameTeam;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least-recently-used cache of {@link ProcessedArena}s per ordered team pair, built lazily and bounded by total template volume.
+ */
+public class ProcessedArenaCache {
+    /**
+     * The default bound, in grid cells, across every cached template.
+     */
+    public static final long DEFAULT_MAX_VOLUME = 1L << 20;
+
+    private final long maxVolume;
+    private final LinkedHashMap<Integer, ProcessedArena> entries;
+
+    private long volume;
+    private long hits, misses, evictions;
+
+    public ProcessedArenaCache(long maxVolume) {
+        this.maxVolume = maxVolume;
+        this.entries = new LinkedHashMap<>(16, 0.75F, true);
+    }
+
+    public ProcessedArenaCache() {
+        this(DEFAULT_MAX_VOLUME);
+    }
+
+    public ProcessedArena get(ServerWorld world, GameTeam alpha, GameTeam beta) {
+        int key = alpha.ordinal() * GameTeam.values().length + beta.ordinal();
+        ProcessedArena arena = this.entries.get(key);
+        if (arena != null) {
+            this.hits++;
+            return arena;
+        }
+
+        this.misses++;
+        arena = ProcessedArena.create(world, alpha, beta);
+        this.entries.put(key, arena);
+        this.volume += arena.getVolume();
+        this.evict();
+        return arena;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Integer, ProcessedArena>> iterator = this.entries.entrySet().iterator();
+        // always keep the most recent entry, even if it alone exceeds the bound
+        while (this.volume > this.maxVolume && this.entries.size() > 1) {
+            ProcessedArena eldest = iterator.next().getValue();
+            iterator.remove();
+            this.volume -= eldest.getVolume();
+            this.evictions++;
+        }
+    }
+
+    public void clear() {
+        this.entries.clear();
+        this.volume = 0;
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public long getVolume() {
+        return this.volume;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    public long getEvictions() {
+        return this.evictions;
+    }
+}
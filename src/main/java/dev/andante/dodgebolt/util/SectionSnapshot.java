@@ -0,0 +1,132 @@
+package dev.andante.dodgebolt.util;
+
+import dev.andante.dodgebolt.mixin.ChunkSectionAccessor;
+import it.unimi.dsi.fastutil.shorts.ShortIterator;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.block.BlockState;
+import net.minecraft.network.packet.s2c.play.ChunkDeltaUpdateS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.chunk.light.LightingProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies of the block state containers of every chunk section overlapping a box.
+ * Restoring swaps a copy of each container into the live section instead of setting blocks one at a time,
+ * and relights and resends only the positions that differed.
+ *
+ * <p>Whole sections are captured, so anything else sharing a section with the box is restored along with it.
+ * Sections holding block entities are restored block by block through a {@link BlockBatch} instead.</p>
+ */
+public class SectionSnapshot {
+    private final List<Section> sections;
+
+    private SectionSnapshot(List<Section> sections) {
+        this.sections = sections;
+    }
+
+    public static SectionSnapshot capture(ServerWorld world, BlockPos min, BlockPos max) {
+        List<Section> sections = new ArrayList<>();
+        int minY = Math.max(ChunkSectionPos.getSectionCoord(min.getY()), world.getBottomSectionCoord());
+        int maxY = Math.min(ChunkSectionPos.getSectionCoord(max.getY()), world.getTopSectionCoord() - 1);
+        for (int x = ChunkSectionPos.getSectionCoord(min.getX()); x <= ChunkSectionPos.getSectionCoord(max.getX()); x++) {
+            for (int z = ChunkSectionPos.getSectionCoord(min.getZ()); z <= ChunkSectionPos.getSectionCoord(max.getZ()); z++) {
+                WorldChunk chunk = world.getChunk(x, z);
+                for (int y = minY; y <= maxY; y++) {
+                    ChunkSection section = chunk.getSection(world.sectionCoordToIndex(y));
+                    sections.add(new Section(ChunkSectionPos.from(x, y, z), section.getBlockStateContainer().copy(), section.hasAny(BlockState::hasBlockEntity)));
+                }
+            }
+        }
+
+        return new SectionSnapshot(sections);
+    }
+
+    /**
+     * @return the number of blocks that changed
+     */
+    public int restore(ServerWorld world) {
+        LightingProvider lightingProvider = world.getChunkManager().getLightingProvider();
+        BlockBatch fallback = new BlockBatch(world);
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        int changed = 0;
+        for (Section snapshot : this.sections) {
+            ChunkSectionPos sectionPos = snapshot.pos();
+            WorldChunk chunk = world.getChunk(sectionPos.getSectionX(), sectionPos.getSectionZ());
+            ChunkSection section = chunk.getSection(world.sectionCoordToIndex(sectionPos.getSectionY()));
+            PalettedContainer<BlockState> live = section.getBlockStateContainer();
+            PalettedContainer<BlockState> states = snapshot.states();
+
+            ShortSet positions = new ShortOpenHashSet();
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (live.get(x, y, z) != states.get(x, y, z)) {
+                            positions.add((short) (x << 8 | z << 4 | y));
+                        }
+                    }
+                }
+            }
+
+            if (positions.isEmpty()) {
+                continue;
+            }
+
+            // block entities need the full vanilla path to be created and removed
+            if (snapshot.blockEntities() || section.hasAny(BlockState::hasBlockEntity)) {
+                for (ShortIterator iterator = positions.iterator(); iterator.hasNext(); ) {
+                    short local = iterator.nextShort();
+                    fallback.set(sectionPos.unpackBlockX(local), sectionPos.unpackBlockY(local), sectionPos.unpackBlockZ(local), states.get(local >> 8 & 15, local & 15, local >> 4 & 15));
+                }
+                continue;
+            }
+
+            boolean wasEmpty = section.isEmpty();
+            ((ChunkSectionAccessor) section).setBlockStateContainer(states.copy());
+            section.calculateCounts();
+
+            for (ShortIterator iterator = positions.iterator(); iterator.hasNext(); ) {
+                short local = iterator.nextShort();
+                pos.set(sectionPos.unpackBlockX(local), sectionPos.unpackBlockY(local), sectionPos.unpackBlockZ(local));
+                BlockState state = states.get(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+                for (Map.Entry<Heightmap.Type, Heightmap> heightmap : chunk.getHeightmaps()) {
+                    heightmap.getValue().trackUpdate(pos.getX() & 15, pos.getY(), pos.getZ() & 15, state);
+                }
+                lightingProvider.checkBlock(pos);
+            }
+
+            if (wasEmpty != section.isEmpty()) {
+                lightingProvider.setSectionStatus(sectionPos, section.isEmpty());
+            }
+
+            chunk.setNeedsSaving(true);
+            changed += positions.size();
+
+            ChunkDeltaUpdateS2CPacket packet = new ChunkDeltaUpdateS2CPacket(sectionPos, positions, section, false);
+            for (ServerPlayerEntity player : PlayerLookup.tracking(world, chunk.getPos())) {
+                player.networkHandler.sendPacket(packet);
+            }
+        }
+
+        return changed + fallback.apply(BlockBatch.UPDATE_LIGHT);
+    }
+
+    public int getSectionCount() {
+        return this.sections.size();
+    }
+
+    private record Section(ChunkSectionPos pos, PalettedContainer<BlockState> states, boolean blockEntities) {
+    }
+}
@@ -1,10 +1,9 @@
 package dev.andante.dodgebolt.util;
 
+import dev.andante.dodgebolt.Dodgebolt;
 import dev.andante.dodgebolt.game.GameTeam;
-import dev.andante.dodgebolt.processor.ArenaStructureProcessor;
-import net.minecraft.block.Block;
+import dev.andante.dodgebolt.jfr.ArenaPlaceEvent;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.structure.StructurePlacementData;
 import net.minecraft.structure.StructureTemplate;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
@@ -14,9 +13,31 @@ public interface StructureHelper {
         return world == null ? new StructureTemplate() : world.getStructureTemplateManager().getTemplateOrBlank(id);
     }
 
-    static void placeArena(ServerWorld world, BlockPos pos, GameTeam alpha, GameTeam beta) {
-        StructureTemplate structure = getStructure(world, Constants.ARENA_STRUCTURE_ID);
-        StructurePlacementData data = new StructurePlacementData().addProcessor(new ArenaStructureProcessor(alpha, beta));
-        structure.place(world, pos, BlockPos.ORIGIN, data, world.random, Block.NOTIFY_LISTENERS);
+    static int placeArena(ServerWorld world, BlockPos pos, GameTeam alpha, GameTeam beta) {
+        return placeArena(world, pos, Dodgebolt.DODGEBOLT_MANAGER.getArenaCache().get(world, alpha, beta));
+    }
+
+    /**
+     * @return the number of blocks changed
+     */
+    static int placeArena(ServerWorld world, BlockPos pos, ProcessedArena arena) {
+        ArenaPlaceEvent event = new ArenaPlaceEvent();
+        event.begin();
+
+        BlockBatch batch = new BlockBatch(world);
+        arena.place(batch, pos);
+        int blocks = batch.apply(BlockBatch.UPDATE_LIGHT);
+        arena.finishPlacement(world, pos);
+
+        if (event.shouldCommit()) {
+            event.x = pos.getX();
+            event.y = pos.getY();
+            event.z = pos.getZ();
+            event.volume = arena.getVolume();
+            event.blocks = blocks;
+            event.commit();
+        }
+
+        return blocks;
     }
 }
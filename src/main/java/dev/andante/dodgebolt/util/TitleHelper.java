@@ -17,4 +17,8 @@ public interface TitleHelper {
         handler.sendPacket(new TitleS2CPacket(title));
         handler.sendPacket(new SubtitleS2CPacket(subtitle));
     }
+
+    static void broadcastTitle(Iterable<ServerPlayerEntity> players, Text title, Text subtitle, int fadeIn, int stay, int fadeOut) {
+        BroadcastHelper.send(players, new TitleFadeS2CPacket(fadeIn, stay, fadeOut), new TitleS2CPacket(title), new SubtitleS2CPacket(subtitle));
+    }
 }